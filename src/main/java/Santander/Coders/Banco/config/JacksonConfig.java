@@ -0,0 +1,15 @@
+package Santander.Coders.Banco.config;
+
+import Santander.Coders.Banco.model.response.CamposParciais;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    // Fora das respostas com ?fields=, as contas e pessoas saem completas, como sempre saíram.
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer camposParciaisCustomizer() {
+        return builder -> builder.filters(CamposParciais.COMPLETOS);
+    }
+}
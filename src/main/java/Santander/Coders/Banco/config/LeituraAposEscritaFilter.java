@@ -0,0 +1,77 @@
+package Santander.Coders.Banco.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Marca com um cookie o instante da última escrita do cliente; enquanto a janela não passa, as leituras dele vão para
+ * o primário, para que não vejam a réplica ainda sem a própria alteração.
+ */
+class LeituraAposEscritaFilter extends OncePerRequestFilter {
+    static final String COOKIE = "banco-ultima-escrita";
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long janelaMillis;
+
+    LeituraAposEscritaFilter(Duration janela) {
+        this.janelaMillis = janela.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return janelaMillis <= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!METODOS_LEITURA.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, janelaMillis / 1000));
+            response.addCookie(cookie);
+
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!escreveuDentroDaJanela(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Roteamento.forcarPrimario();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Roteamento.liberar();
+        }
+    }
+
+    private boolean escreveuDentroDaJanela(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() - Long.parseLong(cookie.getValue()) < janelaMillis;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package Santander.Coders.Banco.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Com banco.datasource.replica.url configurada, transações somente leitura usam a réplica e as demais o primário
+ * (spring.datasource). Sem ela, a aplicação segue com o DataSource único da autoconfiguração.
+ */
+@Configuration
+@ConditionalOnProperty("banco.datasource.replica.url")
+public class ReplicaConfig {
+    // Como na autoconfiguração, o pool do primário segue spring.datasource.hikari.*; o da réplica tem prefixo próprio,
+    // banco.datasource.replica.hikari.*, para poder ser dimensionado à parte.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("banco.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties properties,
+                                        @Value("${banco.datasource.replica.url}") String url,
+                                        @Value("${banco.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                        @Value("${banco.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    // Flyway e Hibernate usam este DataSource; fora de transações somente leitura ele vai sempre para o primário.
+    // O proxy só pega a conexão no primeiro comando, quando a transação já está marcada como somente leitura;
+    // sem ele o JpaTransactionManager escolheria o DataSource antes disso.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource();
+        roteamento.setTargetDataSources(Map.of(RoteamentoDataSource.PRIMARIO, primario, RoteamentoDataSource.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primario);
+        roteamento.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @Bean
+    public LeituraAposEscritaFilter leituraAposEscritaFilter(
+            @Value("${banco.datasource.replica.leitura-apos-escrita:PT5S}") Duration janela) {
+        return new LeituraAposEscritaFilter(janela);
+    }
+}
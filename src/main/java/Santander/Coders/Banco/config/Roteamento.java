@@ -0,0 +1,40 @@
+package Santander.Coders.Banco.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Contexto da thread que decide entre primário e réplica. Transações somente leitura vão para a réplica, a não ser
+ * que a leitura tenha sido marcada para o primário (leitura logo após uma escrita do mesmo cliente, ou carga de um
+ * valor que vai para um cache compartilhado).
+ */
+public final class Roteamento {
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private Roteamento() {
+    }
+
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        if (primarioForcado()) {
+            return leitura.get();
+        }
+
+        forcarPrimario();
+        try {
+            return leitura.get();
+        } finally {
+            liberar();
+        }
+    }
+
+    static boolean primarioForcado() {
+        return Boolean.TRUE.equals(PRIMARIO.get());
+    }
+
+    static void forcarPrimario() {
+        PRIMARIO.set(true);
+    }
+
+    static void liberar() {
+        PRIMARIO.remove();
+    }
+}
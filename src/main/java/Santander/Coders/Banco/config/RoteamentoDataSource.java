@@ -0,0 +1,15 @@
+package Santander.Coders.Banco.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RoteamentoDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARIO = "primario";
+    static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !Roteamento.primarioForcado()
+                ? REPLICA : PRIMARIO;
+    }
+}
@@ -1,21 +1,55 @@
 package Santander.Coders.Banco.controller;
 
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.FormatoExportacao;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.request.ContaPostDto;
 import Santander.Coders.Banco.model.request.ContaPutDto;
+import Santander.Coders.Banco.model.request.TransferenciaLotePostDto;
+import Santander.Coders.Banco.model.response.CamposParciais;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.CreditoLoteResponseDto;
+import Santander.Coders.Banco.model.response.ExtratoResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
+import Santander.Coders.Banco.model.response.ResumoResponseDto;
+import Santander.Coders.Banco.model.response.TransferenciaLoteResponseDto;
 import Santander.Coders.Banco.service.ContaService;
+import Santander.Coders.Banco.service.ExportacaoTransacoesService;
+import Santander.Coders.Banco.service.IdempotenciaService;
+import Santander.Coders.Banco.service.TransferenciaLoteService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/contas")
 @RequiredArgsConstructor
 public class ContaController {
     private final ContaService contaService;
+    private final TransferenciaLoteService transferenciaLoteService;
+    private final IdempotenciaService idempotenciaService;
+    private final ExportacaoTransacoesService exportacaoTransacoesService;
 
     @GetMapping
     public Page<ContaResponseDto> findAll(
@@ -24,11 +58,77 @@ public class ContaController {
         return contaService.findAll(pageable);
     }
 
+    @GetMapping(params = "ids")
+    public List<ResultadoPorIdResponseDto<ContaResponseDto>> findAllById(
+            @RequestParam List<Long> ids
+    ) {
+        return contaService.findAllById(ids);
+    }
+
+    @GetMapping("/rolagem")
+    public MappingJacksonValue listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) String fields
+    ) {
+        return CamposParciais.filtrar(contaService.listar(cursor, limite, fields), fields);
+    }
+
     @GetMapping("/{id}")
-    public ContaResponseDto findById(
-            @PathVariable Long id
+    public ResponseEntity<MappingJacksonValue> findById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        // O ETag sai da versão lida junto com a resposta: se o cliente já tem a atual, ela nem é serializada.
+        Versionado<ContaResponseDto> conta = contaService.findVersionadoById(id, fields);
+        String etag = conta.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(CamposParciais.filtrar(conta.corpo(), fields));
+    }
+
+    @GetMapping("/{id}/transacoes")
+    public ExtratoResponseDto extrato(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite
+    ) {
+        return contaService.extrato(id, inicio, fim, tipo, cursor, limite);
+    }
+
+    @GetMapping("/{id}/resumo")
+    public ResumoResponseDto resumo(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate
+    ) {
+        return contaService.resumo(id, de, ate);
+    }
+
+    @GetMapping("/{id}/transacoes/exportacao")
+    public ResponseEntity<ResponseBodyEmitter> exportarTransacoes(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato
     ) {
-        return contaService.findById(id);
+        StreamingResponseBody corpo = exportacaoTransacoesService.exportar(id, inicio, fim, formato);
+        String extensao = formato.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(formato == FormatoExportacao.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes-" + id + "." + extensao + "\"")
+                .body(exportacaoTransacoesService.transmitir(corpo));
     }
 
     @PostMapping
@@ -57,27 +157,48 @@ public class ContaController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void depositar(
             @PathVariable Long id,
-            @RequestParam Double valor
+            @RequestParam Dinheiro valor,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        contaService.depositar(id, valor);
+        idempotenciaService.executar(idempotencyKey, "depositar:" + id + ":" + valor,
+                () -> contaService.depositar(id, valor));
     }
 
     @PutMapping("/{id}/sacar")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void sacar(
             @PathVariable Long id,
-            @RequestParam Double valor
+            @RequestParam Dinheiro valor,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        contaService.sacar(id, valor);
+        idempotenciaService.executar(idempotencyKey, "sacar:" + id + ":" + valor,
+                () -> contaService.sacar(id, valor));
     }
 
     @PutMapping("/{id}/transferir")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void transferir(
             @PathVariable Long id,
-            @RequestParam Double valor,
-            @RequestParam Long idDestino
+            @RequestParam Dinheiro valor,
+            @RequestParam Long idDestino,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        idempotenciaService.executar(idempotencyKey, "transferir:" + id + ":" + idDestino + ":" + valor,
+                () -> contaService.transferir(id, idDestino, valor));
+    }
+
+    @PostMapping("/transferencias/lote")
+    public TransferenciaLoteResponseDto transferirEmLote(
+            @RequestBody @Valid TransferenciaLotePostDto transferenciaLotePostDto
+    ) {
+        return transferenciaLoteService.transferir(transferenciaLotePostDto);
+    }
+
+    @PostMapping(value = "/{id}/creditos/lote", consumes = {"text/csv", "text/plain"})
+    public CreditoLoteResponseDto creditarEmLote(
+            @PathVariable Long id,
+            InputStream creditos
     ) {
-        contaService.transferir(id, idDestino, valor);
+        return contaService.creditarEmLote(id, new BufferedReader(new InputStreamReader(creditos, StandardCharsets.UTF_8)));
     }
 }
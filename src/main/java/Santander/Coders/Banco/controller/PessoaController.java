@@ -1,12 +1,15 @@
 package Santander.Coders.Banco.controller;
 
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.request.ContaPostDto;
 import Santander.Coders.Banco.model.request.ContaPutDto;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
 import Santander.Coders.Banco.model.request.PessoaPutDto;
+import Santander.Coders.Banco.model.response.CamposParciais;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
 import Santander.Coders.Banco.service.ContaService;
 import Santander.Coders.Banco.service.PessoaService;
 import jakarta.validation.Valid;
@@ -14,8 +17,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/pessoas")
@@ -30,11 +39,39 @@ public class PessoaController {
         return pessoaService.findAll(pageable);
     }
 
+    @GetMapping(params = "ids")
+    public List<ResultadoPorIdResponseDto<PessoaResponseDto>> findAllById(
+            @RequestParam List<Long> ids
+    ) {
+        return pessoaService.findAllById(ids);
+    }
+
+    @GetMapping("/rolagem")
+    public MappingJacksonValue listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) String fields
+    ) {
+        return CamposParciais.filtrar(pessoaService.listar(cursor, limite, fields), fields);
+    }
+
     @GetMapping("/{id}")
-    public PessoaResponseDto findById(
-            @PathVariable Long id
+    public ResponseEntity<MappingJacksonValue> findById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
     ) {
-        return pessoaService.findById(id);
+        // O ETag sai da versão lida junto com a resposta: se o cliente já tem a atual, ela nem é serializada.
+        Versionado<PessoaResponseDto> pessoa = pessoaService.findVersionadoById(id, fields);
+        String etag = pessoa.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(CamposParciais.filtrar(pessoa.corpo(), fields));
     }
 
     @PostMapping
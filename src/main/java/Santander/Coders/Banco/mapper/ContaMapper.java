@@ -15,9 +15,15 @@ import org.mapstruct.Mapping;
 public interface ContaMapper {
     ContaResponseDto toResponseDto(Conta conta);
 
+    // O titular entra só com os próprios dados: seguir Pessoa.conta voltaria para esta mesma conta.
+    @Mapping(target = "conta", ignore = true)
+    PessoaResponseDto titularToResponseDto(Pessoa titular);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Conta postDtoToEntity(ContaPostDto contaPostDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Conta putDtoToEntity(ContaPutDto contaPutDto);
 }
@@ -1,8 +1,10 @@
 package Santander.Coders.Banco.mapper;
 
+import Santander.Coders.Banco.model.Conta;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
 import Santander.Coders.Banco.model.request.PessoaPutDto;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -11,6 +13,10 @@ import org.mapstruct.Mapping;
 public interface PessoaMapper {
     PessoaResponseDto toResponseDto(Pessoa pessoa);
 
+    // A conta entra só com os próprios dados: seguir Conta.titular voltaria para esta mesma pessoa.
+    @Mapping(target = "titular", ignore = true)
+    ContaResponseDto contaToResponseDto(Conta conta);
+
     @Mapping(target = "id", ignore = true)
     Pessoa postDtoToEntity(PessoaPostDto pessoaPostDto);
 
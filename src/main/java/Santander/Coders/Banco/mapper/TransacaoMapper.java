@@ -0,0 +1,10 @@
+package Santander.Coders.Banco.mapper;
+
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.response.TransacaoResponseDto;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface TransacaoMapper {
+    TransacaoResponseDto toResponseDto(Transacao transacao);
+}
@@ -3,20 +3,28 @@ package Santander.Coders.Banco.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "contas")
+// O saldo muda a todo momento: região de vida curta, e as atualizações feitas fora do Hibernate (SQL nativo e JDBC)
+// invalidam as entradas, para que o modo OTIMISTA não leia uma versão antiga.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contas")
 @Data
 @RequiredArgsConstructor
 public class Conta {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contas_id_seq")
+    @SequenceGenerator(name = "contas_id_seq", sequenceName = "contas_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -30,15 +38,22 @@ public class Conta {
     private TipoConta tipo;
 
     @Column(name = "saldo", nullable = false)
-    private BigDecimal saldo = BigDecimal.ZERO;
+    private Dinheiro saldo = Dinheiro.ZERO;
 
+    // Fora do equals/hashCode/toString gerados: Pessoa.conta aponta de volta para esta conta.
     @OneToOne
     @JoinColumn(name = "titular_id", unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Pessoa titular;
 
     @Column(nullable = false)
     private boolean canceled = false;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -75,40 +90,40 @@ public class Conta {
         updatedAt = LocalDateTime.now();
     }
 
-    public void depositar(BigDecimal valor) {
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
+    public void depositar(Dinheiro valor) {
+        if (!valor.isPositivo()) {
             throw new IllegalArgumentException("O valor do depósito deve ser maior que zero.");
         }
 
-        saldo = saldo.add(valor);
+        saldo = saldo.somar(valor);
     }
 
-    public void sacar(BigDecimal valor) {
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
+    public void sacar(Dinheiro valor) {
+        if (!valor.isPositivo()) {
             throw new IllegalArgumentException("O valor do saque deve ser maior que zero.");
         }
 
-        if (valor.compareTo(saldo) > 0) {
+        if (valor.isMaiorQue(saldo)) {
             throw new IllegalArgumentException("Saldo insuficiente para realizar o saque.");
         }
 
-        saldo = saldo.subtract(valor);
+        saldo = saldo.subtrair(valor);
     }
 
-    public void transferir(Conta contaDestino, BigDecimal valor) {
+    public void transferir(Conta contaDestino, Dinheiro valor) {
         if (contaDestino == null) {
             throw new IllegalArgumentException("Conta de destino não pode ser nula.");
         }
 
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
+        if (!valor.isPositivo()) {
             throw new IllegalArgumentException("O valor da transferência deve ser maior que zero.");
         }
 
-        if (valor.compareTo(saldo) > 0) {
+        if (valor.isMaiorQue(saldo)) {
             throw new IllegalArgumentException("Saldo insuficiente para realizar a transferência.");
         }
 
-        saldo = saldo.subtract(valor);
-        contaDestino.saldo = contaDestino.saldo.add(valor);
+        saldo = saldo.subtrair(valor);
+        contaDestino.saldo = contaDestino.saldo.somar(valor);
     }
 }
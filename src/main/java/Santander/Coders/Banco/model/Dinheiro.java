@@ -0,0 +1,164 @@
+package Santander.Coders.Banco.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.hibernate.annotations.Immutable;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Immutable
+@JsonSerialize(using = Dinheiro.Serializer.class)
+@JsonDeserialize(using = Dinheiro.Deserializer.class)
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    public static Dinheiro valueOf(String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valor);
+        }
+
+        String texto = valor.strip();
+        int posicao = 0;
+        boolean negativo = texto.charAt(0) == '-';
+        if (negativo || texto.charAt(0) == '+') {
+            posicao++;
+        }
+
+        long centavos = 0;
+        int digitosInteiros = 0;
+        int casasDecimais = 0;
+        boolean decimal = false;
+
+        try {
+            for (; posicao < texto.length(); posicao++) {
+                char caractere = texto.charAt(posicao);
+
+                if (caractere == '.' && !decimal) {
+                    decimal = true;
+                } else if (caractere >= '0' && caractere <= '9') {
+                    int digito = caractere - '0';
+
+                    if (!decimal) {
+                        centavos = Math.addExact(Math.multiplyExact(centavos, 10), digito);
+                        digitosInteiros++;
+                    } else if (casasDecimais < 2) {
+                        centavos = Math.addExact(Math.multiplyExact(centavos, 10), digito);
+                        casasDecimais++;
+                    } else if (digito != 0) {
+                        throw new IllegalArgumentException("Valor monetário com mais de duas casas decimais: " + valor);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Valor monetário inválido: " + valor);
+                }
+            }
+
+            if (digitosInteiros == 0 && casasDecimais == 0) {
+                throw new IllegalArgumentException("Valor monetário inválido: " + valor);
+            }
+
+            for (; casasDecimais < 2; casasDecimais++) {
+                centavos = Math.multiplyExact(centavos, 10);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário fora do limite: " + valor);
+        }
+
+        return deCentavos(negativo ? -centavos : centavos);
+    }
+
+    public static Dinheiro valueOf(BigDecimal valor) {
+        try {
+            return deCentavos(valor.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valor);
+        }
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro somar(Dinheiro valor) {
+        return valor.centavos == 0 ? this : deCentavos(Math.addExact(centavos, valor.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro valor) {
+        return valor.centavos == 0 ? this : deCentavos(Math.subtractExact(centavos, valor.centavos));
+    }
+
+    public Dinheiro negar() {
+        return deCentavos(Math.negateExact(centavos));
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0;
+    }
+
+    public boolean isMaiorQue(Dinheiro valor) {
+        return centavos > valor.centavos;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return this == outro || outro instanceof Dinheiro dinheiro && centavos == dinheiro.centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        long absoluto = Math.abs(centavos);
+        long fracao = absoluto % 100;
+
+        return (centavos < 0 ? "-" : "") + absoluto / 100 + (fracao < 10 ? ".0" : ".") + fracao;
+    }
+
+    static class Serializer extends JsonSerializer<Dinheiro> {
+        @Override
+        public void serialize(Dinheiro valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeNumber(valor.toString());
+        }
+    }
+
+    static class Deserializer extends JsonDeserializer<Dinheiro> {
+        @Override
+        public Dinheiro deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+            try {
+                return Dinheiro.valueOf(parser.getValueAsString());
+            } catch (IllegalArgumentException e) {
+                return (Dinheiro) contexto.handleWeirdStringValue(Dinheiro.class, parser.getText(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package Santander.Coders.Banco.model;
+
+public enum FormatoExportacao {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,46 @@
+package Santander.Coders.Banco.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "idempotencias")
+@RequiredArgsConstructor
+public class Idempotencia {
+    @Id
+    @Column(name = "chave", nullable = false)
+    private String chave;
+
+    @Column(name = "requisicao", nullable = false)
+    private String requisicao;
+
+    @Column(name = "sucesso", nullable = false)
+    private boolean sucesso;
+
+    @Column(name = "erro_tipo")
+    private String erroTipo;
+
+    @Column(name = "erro_mensagem")
+    private String erroMensagem;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Idempotencia(String chave, String requisicao, boolean sucesso, String erroTipo, String erroMensagem) {
+        this.chave = chave;
+        this.requisicao = requisicao;
+        this.sucesso = sucesso;
+        this.erroTipo = erroTipo;
+        this.erroMensagem = erroMensagem;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
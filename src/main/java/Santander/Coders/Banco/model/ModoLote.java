@@ -0,0 +1,6 @@
+package Santander.Coders.Banco.model;
+
+public enum ModoLote {
+    TUDO_OU_NADA,
+    MELHOR_ESFORCO
+}
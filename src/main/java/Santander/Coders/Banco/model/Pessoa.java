@@ -2,8 +2,12 @@ package Santander.Coders.Banco.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,10 +15,14 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "pessoas")
+// Dados cadastrais mudam pouco: ficam no cache de segundo nível por mais tempo (ver ehcache.xml).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoas")
 @RequiredArgsConstructor
 public class Pessoa {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoas_id_seq")
+    @SequenceGenerator(name = "pessoas_id_seq", sequenceName = "pessoas_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -30,7 +38,10 @@ public class Pessoa {
     @Column(name = "telefone", nullable = false)
     private String telefone;
 
+    // Fora do equals/hashCode/toString gerados: Conta.titular aponta de volta para esta pessoa.
     @OneToOne(mappedBy = "titular", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Conta conta;
 
     @Column(nullable = false)
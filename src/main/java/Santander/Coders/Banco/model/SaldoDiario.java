@@ -0,0 +1,52 @@
+package Santander.Coders.Banco.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Escrita apenas por SQL, junto com o registro das transações (ver TransacaoRepositoryCustomImpl).
+@Data
+@Entity
+@Immutable
+@Table(name = "saldo_diario")
+@IdClass(SaldoDiario.Chave.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDiario {
+    @Id
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Id
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "saldo_inicial", nullable = false)
+    private Dinheiro saldoInicial;
+
+    @Column(name = "creditos", nullable = false)
+    private Dinheiro creditos;
+
+    @Column(name = "debitos", nullable = false)
+    private Dinheiro debitos;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    public Dinheiro getSaldoFinal() {
+        return saldoInicial.somar(creditos).subtrair(debitos);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private Long contaId;
+        private LocalDate dia;
+    }
+}
@@ -0,0 +1,7 @@
+package Santander.Coders.Banco.model;
+
+public enum StatusTransferencia {
+    EFETIVADA,
+    REJEITADA,
+    NAO_EFETIVADA
+}
@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -13,23 +12,25 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class Transacao {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacoes_id_seq")
+    @SequenceGenerator(name = "transacoes_id_seq", sequenceName = "transacoes_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
     @Column(name = "conta_id", nullable = false)
     private Long contaId;
 
+    @Enumerated(EnumType.STRING)
     @Column(name = "tipo_transacao", nullable = false)
     private TipoTransacao tipo;
 
     @Column(name = "valor", nullable = false)
-    private BigDecimal valor;
+    private Dinheiro valor;
 
     @Column(name = "data", nullable = false)
     private LocalDateTime data;
 
-    public Transacao(Long contaId, TipoTransacao tipo, BigDecimal valor, LocalDateTime data) {
+    public Transacao(Long contaId, TipoTransacao tipo, Dinheiro valor, LocalDateTime data) {
         this.contaId = contaId;
         this.tipo = tipo;
         this.valor = valor;
@@ -0,0 +1,40 @@
+package Santander.Coders.Banco.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Versão de uma resposta de leitura: o contador de versão da conta (incrementado a cada movimentação de saldo), o
+ * instante da última alteração da pessoa e, nas respostas com ?fields=, os campos pedidos. Qualquer mudança em um
+ * deles muda o ETag da resposta.
+ */
+public record Versao(
+        Long versao,
+        LocalDateTime atualizadoEm,
+        SortedSet<String> campos
+) {
+    public Versao(Long versao, LocalDateTime atualizadoEm) {
+        this(versao, atualizadoEm, null);
+    }
+
+    // A ordem dos campos no pedido não muda o JSON, então não muda a versão.
+    public Versao comCampos(Collection<String> campos) {
+        return new Versao(versao, atualizadoEm, new TreeSet<>(campos));
+    }
+
+    public String etag(Long id) {
+        StringBuilder etag = new StringBuilder().append(id).append('-').append(versao);
+        if (atualizadoEm != null) {
+            long micros = atualizadoEm.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + atualizadoEm.getNano() / 1_000;
+            etag.append('-').append(Long.toString(micros, 36));
+        }
+        if (campos != null) {
+            etag.append('-').append(String.join(".", campos));
+        }
+
+        return etag.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package Santander.Coders.Banco.model;
+
+/**
+ * Uma resposta de leitura e a versão lida junto com ela, na mesma consulta: o ETag calculado a partir da versão
+ * corresponde sempre ao corpo enviado.
+ */
+public record Versionado<T>(
+        T corpo,
+        Versao versao
+) {
+    public String etag(Long id) {
+        return versao.etag(id);
+    }
+}
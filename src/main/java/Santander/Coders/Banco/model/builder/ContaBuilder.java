@@ -1,6 +1,7 @@
 package Santander.Coders.Banco.model.builder;
 
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.TipoConta;
 import Santander.Coders.Banco.model.request.ContaPostDto;
@@ -8,7 +9,6 @@ import Santander.Coders.Banco.model.request.ContaPutDto;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,7 +17,7 @@ public class ContaBuilder {
     private Long agencia;
     private Long numero;
     private TipoConta tipo;
-    private BigDecimal saldo;
+    private Dinheiro saldo;
     private Pessoa titular;
     private PessoaResponseDto titularResponseDto;
 
@@ -36,7 +36,7 @@ public class ContaBuilder {
         return this;
     }
 
-    public ContaBuilder saldo(BigDecimal saldo){
+    public ContaBuilder saldo(Dinheiro saldo){
         this.saldo = saldo;
         return this;
     }
@@ -0,0 +1,9 @@
+package Santander.Coders.Banco.model.request;
+
+import Santander.Coders.Banco.model.Dinheiro;
+
+public record CreditoLoteItemDto(
+        Long contaId,
+        Dinheiro valor
+) {
+}
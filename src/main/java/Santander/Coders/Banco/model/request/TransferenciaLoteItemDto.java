@@ -0,0 +1,14 @@
+package Santander.Coders.Banco.model.request;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import jakarta.validation.constraints.NotNull;
+
+public record TransferenciaLoteItemDto(
+        @NotNull
+        Long origem,
+        @NotNull
+        Long destino,
+        @NotNull
+        Dinheiro valor
+) {
+}
@@ -0,0 +1,18 @@
+package Santander.Coders.Banco.model.request;
+
+import Santander.Coders.Banco.model.ModoLote;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TransferenciaLotePostDto(
+        @NotNull
+        ModoLote modo,
+        @NotEmpty
+        @Size(max = 10000)
+        List<@Valid @NotNull TransferenciaLoteItemDto> itens
+) {
+}
@@ -0,0 +1,53 @@
+package Santander.Coders.Banco.model.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Filtro Jackson das respostas de conta e pessoa. Sem ?fields= todos os campos são serializados, nulos inclusive;
+ * com ?fields=, os campos que ficaram nulos no recorte saem do JSON.
+ */
+public final class CamposParciais {
+    public static final String FILTRO = "camposParciais";
+
+    public static final FilterProvider COMPLETOS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    public static final FilterProvider PEDIDOS = new SimpleFilterProvider()
+            .addFilter(FILTRO, new SemNulos());
+
+    private CamposParciais() {
+    }
+
+    public static FilterProvider filtros(String fields) {
+        return fields == null || fields.isBlank() ? COMPLETOS : PEDIDOS;
+    }
+
+    public static MappingJacksonValue filtrar(Object corpo, String fields) {
+        if (corpo == null) {
+            return null;
+        }
+
+        MappingJacksonValue valor = new MappingJacksonValue(corpo);
+        valor.setFilters(filtros(fields));
+        return valor;
+    }
+
+    private static final class SemNulos extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gerador, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (writer instanceof BeanPropertyWriter propriedade && propriedade.get(pojo) == null) {
+                return;
+            }
+
+            writer.serializeAsField(pojo, gerador, provider);
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package Santander.Coders.Banco.model.response;
 
-import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.TipoConta;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
-import java.math.BigDecimal;
 import java.util.List;
 
+@JsonFilter(CamposParciais.FILTRO)
 public record ContaResponseDto(
         Long id,
         Long agencia,
         Long numero,
         TipoConta tipo,
-        BigDecimal saldo,
+        Dinheiro saldo,
         PessoaResponseDto titular
 ) {
+    // Usado pelas projeções JPQL (SELECT new), que não aceitam construtores aninhados.
+    public ContaResponseDto(Long id, Long agencia, Long numero, TipoConta tipo, Dinheiro saldo,
+                            Long titularId, String nome, String cpf, String endereco, String telefone) {
+        this(id, agencia, numero, tipo, saldo,
+                titularId == null ? null : new PessoaResponseDto(titularId, nome, cpf, endereco, telefone, null));
+    }
+
+    public static final List<String> CAMPOS = List.of("id", "agencia", "numero", "tipo", "saldo", "titular");
 }
@@ -0,0 +1,11 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.Dinheiro;
+
+public record CreditoLoteResponseDto(
+        Long origem,
+        long creditos,
+        long contasCreditadas,
+        Dinheiro total
+) {
+}
@@ -0,0 +1,9 @@
+package Santander.Coders.Banco.model.response;
+
+import java.util.List;
+
+public record CursorResponseDto<T>(
+        List<T> itens,
+        String proximoCursor
+) {
+}
@@ -0,0 +1,9 @@
+package Santander.Coders.Banco.model.response;
+
+import java.util.List;
+
+public record ExtratoResponseDto(
+        List<TransacaoResponseDto> transacoes,
+        String proximoCursor
+) {
+}
@@ -1,10 +1,12 @@
 package Santander.Coders.Banco.model.response;
 
-import Santander.Coders.Banco.model.Conta;
-import jakarta.persistence.*;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoConta;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
 import java.util.List;
 
+@JsonFilter(CamposParciais.FILTRO)
 public record PessoaResponseDto(
         Long id,
         String nome,
@@ -13,4 +15,12 @@ public record PessoaResponseDto(
         String telefone,
         ContaResponseDto conta
 ) {
+    // Usado pelas projeções JPQL (SELECT new), que não aceitam construtores aninhados.
+    public PessoaResponseDto(Long id, String nome, String cpf, String endereco, String telefone,
+                             Long contaId, Long agencia, Long numero, TipoConta tipo, Dinheiro saldo) {
+        this(id, nome, cpf, endereco, telefone,
+                contaId == null ? null : new ContaResponseDto(contaId, agencia, numero, tipo, saldo, null));
+    }
+
+    public static final List<String> CAMPOS = List.of("id", "nome", "cpf", "endereco", "telefone", "conta");
 }
@@ -0,0 +1,8 @@
+package Santander.Coders.Banco.model.response;
+
+public record ResultadoPorIdResponseDto<T>(
+        Long id,
+        boolean encontrado,
+        T item
+) {
+}
@@ -0,0 +1,15 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.Dinheiro;
+
+import java.time.LocalDate;
+
+public record ResumoDiarioResponseDto(
+        LocalDate dia,
+        Dinheiro saldoInicial,
+        Dinheiro creditos,
+        Dinheiro debitos,
+        Dinheiro saldoFinal,
+        long quantidade
+) {
+}
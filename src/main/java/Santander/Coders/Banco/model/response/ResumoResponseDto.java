@@ -0,0 +1,19 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.Dinheiro;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ResumoResponseDto(
+        Long contaId,
+        LocalDate de,
+        LocalDate ate,
+        Dinheiro saldoInicial,
+        Dinheiro creditos,
+        Dinheiro debitos,
+        Dinheiro saldoFinal,
+        long quantidade,
+        List<ResumoDiarioResponseDto> dias
+) {
+}
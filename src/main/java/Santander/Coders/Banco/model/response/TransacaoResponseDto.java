@@ -0,0 +1,14 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+
+import java.time.LocalDateTime;
+
+public record TransacaoResponseDto(
+        Long id,
+        TipoTransacao tipo,
+        Dinheiro valor,
+        LocalDateTime data
+) {
+}
@@ -0,0 +1,14 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.StatusTransferencia;
+
+public record TransferenciaLoteItemResponseDto(
+        int indice,
+        Long origem,
+        Long destino,
+        Dinheiro valor,
+        StatusTransferencia status,
+        String mensagem
+) {
+}
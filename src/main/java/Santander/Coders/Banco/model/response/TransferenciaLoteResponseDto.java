@@ -0,0 +1,13 @@
+package Santander.Coders.Banco.model.response;
+
+import Santander.Coders.Banco.model.ModoLote;
+
+import java.util.List;
+
+public record TransferenciaLoteResponseDto(
+        ModoLote modo,
+        long efetivadas,
+        long rejeitadas,
+        List<TransferenciaLoteItemResponseDto> itens
+) {
+}
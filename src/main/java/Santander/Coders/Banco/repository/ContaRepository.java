@@ -1,14 +1,30 @@
 package Santander.Coders.Banco.repository;
 
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ContaRepository extends JpaRepository<Conta, Long> {
+public interface ContaRepository extends JpaRepository<Conta, Long>, ContaRepositoryCustom {
+    // Busca o titular no mesmo SELECT da página; sem isso o @OneToOne gera uma consulta por conta.
+    @EntityGraph(attributePaths = "titular")
     @Query(
             "SELECT c FROM Conta c WHERE c.canceled = false"
     )
@@ -16,7 +32,72 @@ public interface ContaRepository extends JpaRepository<Conta, Long> {
 
     Optional<Conta> findByIdAndCanceledFalse(Long id);
 
+    // Projeções de leitura: montam a resposta direto das colunas, sem entidades no contexto de persistência.
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.ContaResponseDto(" +
+                    "c.id, c.agencia, c.numero, c.tipo, c.saldo, t.id, t.nome, t.cpf, t.endereco, t.telefone) " +
+                    "FROM Conta c LEFT JOIN c.titular t WHERE c.canceled = false"
+    )
+    Slice<ContaResponseDto> findAllResponseDtoAndCanceledFalse(Pageable pageable);
+
+    // Keyset por id: cada página continua do último id entregue, sem OFFSET nem contagem.
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.ContaResponseDto(" +
+                    "c.id, c.agencia, c.numero, c.tipo, c.saldo, t.id, t.nome, t.cpf, t.endereco, t.telefone) " +
+                    "FROM Conta c LEFT JOIN c.titular t WHERE c.canceled = false AND c.id > :id ORDER BY c.id"
+    )
+    Slice<ContaResponseDto> findAllResponseDtoAndCanceledFalseAndIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    long countByCanceledFalse();
+
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.ContaResponseDto(" +
+                    "c.id, c.agencia, c.numero, c.tipo, c.saldo, t.id, t.nome, t.cpf, t.endereco, t.telefone) " +
+                    "FROM Conta c LEFT JOIN c.titular t WHERE c.id IN :ids AND c.canceled = false"
+    )
+    List<ContaResponseDto> findAllResponseDtoByIdInAndCanceledFalse(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+            "SELECT c FROM Conta c WHERE c.id = :id"
+    )
+    Optional<Conta> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(
+            "SELECT c.saldo FROM Conta c WHERE c.id = :id"
+    )
+    Optional<Dinheiro> findSaldoById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+            "SELECT c FROM Conta c WHERE c.id IN :ids ORDER BY c.id"
+    )
+    List<Conta> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Sem declarar a tabela, o Hibernate trataria o SQL nativo como capaz de alterar qualquer entidade e
+    // esvaziaria todas as regiões do cache de segundo nível, inclusive a de pessoas.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contas"))
+    @Query(
+            value = "UPDATE contas SET saldo = saldo + :valor, version = version + 1 WHERE id = :id",
+            nativeQuery = true
+    )
+    int creditar(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contas"))
+    @Query(
+            value = "UPDATE contas SET saldo = saldo - :valor, version = version + 1 WHERE id = :id AND saldo >= :valor",
+            nativeQuery = true
+    )
+    int debitar(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
     Conta findByNumero(Long numero);
 
-    boolean existsByNumero(Long numero);
+    // Só lê a coluna indexada, então o PostgreSQL responde com index-only scan em uk_contas_numero.
+    @Query(
+            value = "SELECT EXISTS (SELECT 1 FROM contas WHERE numero = :numero)",
+            nativeQuery = true
+    )
+    boolean existsByNumero(@Param("numero") Long numero);
 }
@@ -0,0 +1,34 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.request.CreditoLoteItemDto;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+
+public interface ContaRepositoryCustom {
+    void inserirCreditosLote(String lote, List<CreditoLoteItemDto> creditos);
+
+    void bloquearContasDoLote(String lote, Long origemId);
+
+    List<Long> findContasInexistentesDoLote(String lote);
+
+    int creditarLote(String lote);
+
+    int registrarTransacoesLote(String lote, LocalDateTime data);
+
+    void removerCreditosLote(String lote);
+
+    void aplicarDeltasSaldo(SortedMap<Long, Dinheiro> deltas);
+
+    Optional<Versionado<ContaResponseDto>> buscarVersionado(Long id);
+
+    Optional<Versionado<ContaResponseDto>> buscarCampos(Long id, Set<String> campos);
+
+    List<ContaResponseDto> buscarCamposAposId(Long aposId, int limite, Set<String> campos);
+}
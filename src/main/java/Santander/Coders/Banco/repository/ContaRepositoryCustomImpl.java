@@ -0,0 +1,188 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.request.CreditoLoteItemDto;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class ContaRepositoryCustomImpl implements ContaRepositoryCustom {
+    private static final int TAMANHO_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void inserirCreditosLote(String lote, List<CreditoLoteItemDto> creditos) {
+        if (creditos.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO creditos_lote (lote, conta_id, valor) VALUES (?, ?, ?)",
+                creditos, TAMANHO_BATCH, (ps, credito) -> {
+                    ps.setString(1, lote);
+                    ps.setLong(2, credito.contaId());
+                    ps.setBigDecimal(3, credito.valor().toBigDecimal());
+                });
+    }
+
+    @Override
+    public void bloquearContasDoLote(String lote, Long origemId) {
+        jdbcTemplate.queryForList(
+                "SELECT id FROM contas WHERE id = ? OR id IN (SELECT conta_id FROM creditos_lote WHERE lote = ?) ORDER BY id FOR UPDATE",
+                Long.class, origemId, lote);
+    }
+
+    @Override
+    public List<Long> findContasInexistentesDoLote(String lote) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT l.conta_id FROM creditos_lote l WHERE l.lote = ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM contas c WHERE c.id = l.conta_id) ORDER BY l.conta_id LIMIT 10",
+                Long.class, lote);
+    }
+
+    @Override
+    public int creditarLote(String lote) {
+        removerContasDoCache(cache -> cache.evict(Conta.class));
+
+        return jdbcTemplate.update(
+                "UPDATE contas SET saldo = saldo + (SELECT SUM(l.valor) FROM creditos_lote l WHERE l.lote = ? AND l.conta_id = contas.id), " +
+                        "version = version + 1 WHERE id IN (SELECT conta_id FROM creditos_lote WHERE lote = ?)",
+                lote, lote);
+    }
+
+    @Override
+    public int registrarTransacoesLote(String lote, LocalDateTime data) {
+        int registradas = jdbcTemplate.update(
+                "INSERT INTO transacoes (conta_id, tipo_transacao, valor, data) " +
+                        "SELECT conta_id, ?, SUM(valor), ? FROM creditos_lote WHERE lote = ? GROUP BY conta_id",
+                TipoTransacao.TRANSFERENCIA_RECEBIMENTO.name(), Timestamp.valueOf(data), lote);
+
+        // Resumo diário, como em TransacaoRepositoryCustomImpl.inserirEmLote, mas em conjunto: uma transação por conta.
+        LocalDate dia = data.toLocalDate();
+        jdbcTemplate.update(
+                "INSERT INTO saldo_diario (conta_id, dia, saldo_inicial, creditos, debitos, quantidade) " +
+                        "SELECT l.conta_id, ?, COALESCE((SELECT s.saldo_inicial + s.creditos - s.debitos FROM saldo_diario s " +
+                        "WHERE s.conta_id = l.conta_id AND s.dia < ? ORDER BY s.dia DESC LIMIT 1), 0), 0, 0, 0 " +
+                        "FROM creditos_lote l WHERE l.lote = ? GROUP BY l.conta_id ON CONFLICT DO NOTHING",
+                dia, dia, lote);
+        jdbcTemplate.update(
+                "UPDATE saldo_diario SET creditos = creditos + (SELECT SUM(l.valor) FROM creditos_lote l " +
+                        "WHERE l.lote = ? AND l.conta_id = saldo_diario.conta_id), quantidade = quantidade + 1 " +
+                        "WHERE dia = ? AND conta_id IN (SELECT conta_id FROM creditos_lote WHERE lote = ?)",
+                lote, dia, lote);
+
+        return registradas;
+    }
+
+    @Override
+    public void removerCreditosLote(String lote) {
+        jdbcTemplate.update("DELETE FROM creditos_lote WHERE lote = ?", lote);
+    }
+
+    @Override
+    public void aplicarDeltasSaldo(SortedMap<Long, Dinheiro> deltas) {
+        removerContasDoCache(cache -> deltas.keySet().forEach(id -> cache.evict(Conta.class, id)));
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE contas SET saldo = saldo + ?, version = version + 1 WHERE id = ?",
+                deltas.entrySet(), TAMANHO_BATCH, (ps, delta) -> {
+                    ps.setBigDecimal(1, delta.getValue().toBigDecimal());
+                    ps.setLong(2, delta.getKey());
+                });
+    }
+
+    @Override
+    public Optional<Versionado<ContaResponseDto>> buscarVersionado(Long id) {
+        return buscarCampos(id, Set.copyOf(ContaResponseDto.CAMPOS));
+    }
+
+    @Override
+    public Optional<Versionado<ContaResponseDto>> buscarCampos(Long id, Set<String> campos) {
+        return consultarCampos(campos, "c.id = :id", id, 1).stream().findFirst();
+    }
+
+    @Override
+    public List<ContaResponseDto> buscarCamposAposId(Long aposId, int limite, Set<String> campos) {
+        return consultarCampos(campos, "c.id > :id ORDER BY c.id", aposId, limite).stream().map(Versionado::corpo).toList();
+    }
+
+    // Escritas por JDBC não passam pelo cache de segundo nível. As contas saem dele já, para esta transação, e de novo
+    // ao fim dela, para que uma leitura concorrente não volte a guardar o saldo anterior ao commit.
+    private void removerContasDoCache(Consumer<Cache> remocao) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        remocao.accept(cache);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remocao.accept(cache);
+                }
+            });
+        }
+    }
+
+    // Seleciona só as colunas pedidas, e só faz o join com o titular quando ele foi pedido. O id sempre vem,
+    // porque a rolagem continua a partir dele; quem chama remove o que não foi pedido com Campos.recortar.
+    // A versão vem na mesma linha do corpo, para que o ETag não combine uma versão com um corpo de outro commit. A data
+    // de alteração do titular só entra quando ele foi pedido: sem ele, mudar a pessoa não muda a resposta.
+    private List<Versionado<ContaResponseDto>> consultarCampos(Set<String> campos, String condicao, Long id, int limite) {
+        boolean titular = campos.contains("titular");
+        StringBuilder jpql = new StringBuilder("SELECT c.id AS id, c.version AS versao");
+        for (String campo : List.of("agencia", "numero", "tipo", "saldo")) {
+            if (campos.contains(campo)) {
+                jpql.append(", c.").append(campo).append(" AS ").append(campo);
+            }
+        }
+        if (titular) {
+            jpql.append(", t.id AS titularId, t.nome AS nome, t.cpf AS cpf, t.endereco AS endereco, t.telefone AS telefone")
+                    .append(", COALESCE(t.updatedAt, t.createdAt) AS atualizadoEm");
+        }
+        jpql.append(" FROM Conta c");
+        if (titular) {
+            jpql.append(" LEFT JOIN c.titular t");
+        }
+        jpql.append(" WHERE c.canceled = false AND ").append(condicao);
+
+        return entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("id", id)
+                .setMaxResults(limite)
+                .getResultList().stream()
+                .map(tupla -> new Versionado<>(new ContaResponseDto(
+                        tupla.get("id", Long.class),
+                        campos.contains("agencia") ? tupla.get("agencia", Long.class) : null,
+                        campos.contains("numero") ? tupla.get("numero", Long.class) : null,
+                        campos.contains("tipo") ? tupla.get("tipo", TipoConta.class) : null,
+                        campos.contains("saldo") ? tupla.get("saldo", Dinheiro.class) : null,
+                        titular && tupla.get("titularId") != null ? new PessoaResponseDto(
+                                tupla.get("titularId", Long.class), tupla.get("nome", String.class),
+                                tupla.get("cpf", String.class), tupla.get("endereco", String.class),
+                                tupla.get("telefone", String.class), null) : null),
+                        new Versao(tupla.get("versao", Long.class),
+                                titular ? tupla.get("atualizadoEm", LocalDateTime.class) : null)))
+                .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Idempotencia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotenciaRepository extends JpaRepository<Idempotencia, String> {
+    // INSERT direto, sem o SELECT do merge: uma chave já gravada, ou sendo gravada por outra transação,
+    // falha na chave primária em vez de ser sobrescrita.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotencias"))
+    @Query(
+            value = "INSERT INTO idempotencias (chave, requisicao, sucesso, erro_tipo, erro_mensagem, created_at) " +
+                    "VALUES (:#{#idempotencia.chave}, :#{#idempotencia.requisicao}, :#{#idempotencia.sucesso}, " +
+                    ":#{#idempotencia.erroTipo}, :#{#idempotencia.erroMensagem}, LOCALTIMESTAMP)",
+            nativeQuery = true
+    )
+    void inserir(@Param("idempotencia") Idempotencia idempotencia);
+}
@@ -2,20 +2,61 @@ package Santander.Coders.Banco.repository;
 
 import Santander.Coders.Banco.model.Conta;
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
+public interface PessoaRepository extends JpaRepository<Pessoa, Long>, PessoaRepositoryCustom {
+    // O lado mappedBy do @OneToOne não pode ser proxy: sem o join a conta é buscada em uma consulta por pessoa.
+    @EntityGraph(attributePaths = "conta")
     @Query(
             "SELECT p FROM Pessoa p WHERE p.inatived = false"
     )
     Page<Pessoa> findAllAndInativedFalse(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Pessoa> findByIdAndInativedFalse(Long id);
 
-    boolean existsByCpf(String cpf);
+    // Projeções de leitura: montam a resposta direto das colunas, sem entidades no contexto de persistência.
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.PessoaResponseDto(" +
+                    "p.id, p.nome, p.cpf, p.endereco, p.telefone, c.id, c.agencia, c.numero, c.tipo, c.saldo) " +
+                    "FROM Pessoa p LEFT JOIN p.conta c WHERE p.inatived = false"
+    )
+    Slice<PessoaResponseDto> findAllResponseDtoAndInativedFalse(Pageable pageable);
+
+    // Keyset por id: cada página continua do último id entregue, sem OFFSET nem contagem.
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.PessoaResponseDto(" +
+                    "p.id, p.nome, p.cpf, p.endereco, p.telefone, c.id, c.agencia, c.numero, c.tipo, c.saldo) " +
+                    "FROM Pessoa p LEFT JOIN p.conta c WHERE p.inatived = false AND p.id > :id ORDER BY p.id"
+    )
+    Slice<PessoaResponseDto> findAllResponseDtoAndInativedFalseAndIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    long countByInativedFalse();
+
+    @Query(
+            "SELECT new Santander.Coders.Banco.model.response.PessoaResponseDto(" +
+                    "p.id, p.nome, p.cpf, p.endereco, p.telefone, c.id, c.agencia, c.numero, c.tipo, c.saldo) " +
+                    "FROM Pessoa p LEFT JOIN p.conta c WHERE p.id IN :ids AND p.inatived = false"
+    )
+    List<PessoaResponseDto> findAllResponseDtoByIdInAndInativedFalse(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            value = "SELECT EXISTS (SELECT 1 FROM pessoas WHERE cpf = :cpf)",
+            nativeQuery = true
+    )
+    boolean existsByCpf(@Param("cpf") String cpf);
 }
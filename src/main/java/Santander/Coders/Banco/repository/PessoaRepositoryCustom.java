@@ -0,0 +1,16 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface PessoaRepositoryCustom {
+    Optional<Versionado<PessoaResponseDto>> buscarVersionado(Long id);
+
+    Optional<Versionado<PessoaResponseDto>> buscarCampos(Long id, Set<String> campos);
+
+    List<PessoaResponseDto> buscarCamposAposId(Long aposId, int limite, Set<String> campos);
+}
@@ -0,0 +1,75 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class PessoaRepositoryCustomImpl implements PessoaRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Versionado<PessoaResponseDto>> buscarVersionado(Long id) {
+        return buscarCampos(id, Set.copyOf(PessoaResponseDto.CAMPOS));
+    }
+
+    @Override
+    public Optional<Versionado<PessoaResponseDto>> buscarCampos(Long id, Set<String> campos) {
+        return consultarCampos(campos, "p.id = :id", id, 1).stream().findFirst();
+    }
+
+    @Override
+    public List<PessoaResponseDto> buscarCamposAposId(Long aposId, int limite, Set<String> campos) {
+        return consultarCampos(campos, "p.id > :id ORDER BY p.id", aposId, limite).stream().map(Versionado::corpo).toList();
+    }
+
+    // Como em ContaRepositoryCustomImpl: só as colunas pedidas, o join com a conta só quando ela foi pedida, e a
+    // versão na mesma linha; a versão da conta só entra quando ela faz parte da resposta.
+    private List<Versionado<PessoaResponseDto>> consultarCampos(Set<String> campos, String condicao, Long id, int limite) {
+        boolean conta = campos.contains("conta");
+        StringBuilder jpql = new StringBuilder("SELECT p.id AS id, COALESCE(p.updatedAt, p.createdAt) AS atualizadoEm");
+        for (String campo : List.of("nome", "cpf", "endereco", "telefone")) {
+            if (campos.contains(campo)) {
+                jpql.append(", p.").append(campo).append(" AS ").append(campo);
+            }
+        }
+        if (conta) {
+            jpql.append(", c.id AS contaId, c.agencia AS agencia, c.numero AS numero, c.tipo AS tipo, c.saldo AS saldo")
+                    .append(", c.version AS versao");
+        }
+        jpql.append(" FROM Pessoa p");
+        if (conta) {
+            jpql.append(" LEFT JOIN p.conta c");
+        }
+        jpql.append(" WHERE p.inatived = false AND ").append(condicao);
+
+        return entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("id", id)
+                .setMaxResults(limite)
+                .getResultList().stream()
+                .map(tupla -> new Versionado<>(new PessoaResponseDto(
+                        tupla.get("id", Long.class),
+                        campos.contains("nome") ? tupla.get("nome", String.class) : null,
+                        campos.contains("cpf") ? tupla.get("cpf", String.class) : null,
+                        campos.contains("endereco") ? tupla.get("endereco", String.class) : null,
+                        campos.contains("telefone") ? tupla.get("telefone", String.class) : null,
+                        conta && tupla.get("contaId") != null ? new ContaResponseDto(
+                                tupla.get("contaId", Long.class), tupla.get("agencia", Long.class),
+                                tupla.get("numero", Long.class), tupla.get("tipo", TipoConta.class),
+                                tupla.get("saldo", Dinheiro.class), null) : null),
+                        new Versao(conta ? tupla.get("versao", Long.class) : null,
+                                tupla.get("atualizadoEm", LocalDateTime.class))))
+                .toList();
+    }
+}
@@ -0,0 +1,16 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.SaldoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SaldoDiarioRepository extends JpaRepository<SaldoDiario, SaldoDiario.Chave> {
+    List<SaldoDiario> findByContaIdAndDiaBetweenOrderByDia(Long contaId, LocalDate de, LocalDate ate);
+
+    Optional<SaldoDiario> findFirstByContaIdAndDiaLessThanOrderByDiaDesc(Long contaId, LocalDate dia);
+
+    Optional<SaldoDiario> findFirstByContaIdAndDiaGreaterThanOrderByDia(Long contaId, LocalDate dia);
+}
@@ -0,0 +1,17 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TransacaoRepositoryCustom {
+    void inserirEmLote(List<Transacao> transacoes);
+
+    List<Transacao> buscarExtrato(Long contaId, LocalDateTime inicio, LocalDateTime fim, TipoTransacao tipo,
+                                  LocalDateTime aposData, Long aposId, int limite);
+
+    void percorrer(Long contaId, LocalDateTime inicio, LocalDateTime fim, int fetchSize, Consumer<Transacao> consumidor);
+}
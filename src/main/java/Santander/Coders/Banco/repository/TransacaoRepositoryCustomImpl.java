@@ -0,0 +1,179 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class TransacaoRepositoryCustomImpl implements TransacaoRepositoryCustom {
+    private static final int TAMANHO_BATCH = 500;
+    private static final String INSERT =
+            "INSERT INTO transacoes (conta_id, tipo_transacao, valor, data) VALUES (?, ?, ?, ?)";
+    private static final String ABRIR_DIA =
+            "INSERT INTO saldo_diario (conta_id, dia, saldo_inicial, creditos, debitos, quantidade) " +
+                    "SELECT ?, ?, COALESCE((SELECT s.saldo_inicial + s.creditos - s.debitos FROM saldo_diario s " +
+                    "WHERE s.conta_id = ? AND s.dia < ? ORDER BY s.dia DESC LIMIT 1), 0), 0, 0, 0 ON CONFLICT DO NOTHING";
+    private static final String ACUMULAR_DIA =
+            "UPDATE saldo_diario SET creditos = creditos + ?, debitos = debitos + ?, quantidade = quantidade + ? " +
+                    "WHERE conta_id = ? AND dia = ?";
+    private static final String AJUSTAR_DIAS_SEGUINTES =
+            "UPDATE saldo_diario SET saldo_inicial = saldo_inicial + ? WHERE conta_id = ? AND dia > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void inserirEmLote(List<Transacao> transacoes) {
+        if (transacoes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, transacoes, TAMANHO_BATCH, (ps, transacao) -> {
+            ps.setLong(1, transacao.getContaId());
+            ps.setString(2, transacao.getTipo().name());
+            ps.setBigDecimal(3, transacao.getValor().toBigDecimal());
+            ps.setTimestamp(4, Timestamp.valueOf(transacao.getData()));
+        });
+
+        acumularSaldoDiario(transacoes);
+    }
+
+    @Override
+    public List<Transacao> buscarExtrato(Long contaId, LocalDateTime inicio, LocalDateTime fim, TipoTransacao tipo,
+                                         LocalDateTime aposData, Long aposId, int limite) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = selecionar(contaId, inicio, fim, parametros);
+
+        if (tipo != null) {
+            sql.append(" AND tipo_transacao = ?");
+            parametros.add(tipo.name());
+        }
+        // Seek pela posição da última linha entregue: o índice (conta_id, data, id) é percorrido a partir dela,
+        // então páginas profundas custam o mesmo que a primeira, ao contrário de OFFSET.
+        if (aposData != null) {
+            sql.append(" AND (data, id) < (?, ?)");
+            parametros.add(Timestamp.valueOf(aposData));
+            parametros.add(aposId);
+        }
+
+        sql.append(" ORDER BY data DESC, id DESC LIMIT ?");
+        parametros.add(limite);
+
+        return jdbcTemplate.query(sql.toString(), (rs, linha) -> mapear(rs), parametros.toArray());
+    }
+
+    @Override
+    public void percorrer(Long contaId, LocalDateTime inicio, LocalDateTime fim, int fetchSize, Consumer<Transacao> consumidor) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = selecionar(contaId, inicio, fim, parametros).append(" ORDER BY data, id");
+
+        // Cursor forward-only com fetch size: o driver traz as linhas aos poucos em vez de materializar o resultado
+        // inteiro. No PostgreSQL isso só vale dentro de uma transação (autocommit desligado).
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement statement = conexao.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parametros.size(); i++) {
+                statement.setObject(i + 1, parametros.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumidor.accept(mapear(rs)));
+    }
+
+    // Mantém o resumo diário na mesma transação do registro: o lote é agregado por conta e dia, e cada dia é aberto
+    // (se ainda não existir) com o saldo final do dia anterior antes de receber os valores. A ordem das chaves é
+    // fixa para que escritores concorrentes bloqueiem as linhas sempre na mesma sequência.
+    private void acumularSaldoDiario(List<Transacao> transacoes) {
+        SortedMap<ChaveDia, MovimentoDia> movimentos = new TreeMap<>();
+        for (Transacao transacao : transacoes) {
+            movimentos.computeIfAbsent(new ChaveDia(transacao.getContaId(), transacao.getData().toLocalDate()),
+                    chave -> new MovimentoDia()).somar(transacao);
+        }
+
+        List<Map.Entry<ChaveDia, MovimentoDia>> dias = new ArrayList<>(movimentos.entrySet());
+
+        jdbcTemplate.batchUpdate(ABRIR_DIA, dias, TAMANHO_BATCH, (ps, dia) -> {
+            ps.setLong(1, dia.getKey().contaId());
+            ps.setObject(2, dia.getKey().dia());
+            ps.setLong(3, dia.getKey().contaId());
+            ps.setObject(4, dia.getKey().dia());
+        });
+        jdbcTemplate.batchUpdate(ACUMULAR_DIA, dias, TAMANHO_BATCH, (ps, dia) -> {
+            ps.setBigDecimal(1, BigDecimal.valueOf(dia.getValue().creditos, 2));
+            ps.setBigDecimal(2, BigDecimal.valueOf(dia.getValue().debitos, 2));
+            ps.setLong(3, dia.getValue().quantidade);
+            ps.setLong(4, dia.getKey().contaId());
+            ps.setObject(5, dia.getKey().dia());
+        });
+        // Normalmente não há dias posteriores; só acontece quando um registro chega depois da virada do dia.
+        jdbcTemplate.batchUpdate(AJUSTAR_DIAS_SEGUINTES, dias, TAMANHO_BATCH, (ps, dia) -> {
+            ps.setBigDecimal(1, BigDecimal.valueOf(dia.getValue().creditos - dia.getValue().debitos, 2));
+            ps.setLong(2, dia.getKey().contaId());
+            ps.setObject(3, dia.getKey().dia());
+        });
+    }
+
+    private StringBuilder selecionar(Long contaId, LocalDateTime inicio, LocalDateTime fim, List<Object> parametros) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, conta_id, tipo_transacao, valor, data FROM transacoes WHERE conta_id = ?");
+        parametros.add(contaId);
+
+        if (inicio != null) {
+            sql.append(" AND data >= ?");
+            parametros.add(Timestamp.valueOf(inicio));
+        }
+        if (fim != null) {
+            sql.append(" AND data < ?");
+            parametros.add(Timestamp.valueOf(fim));
+        }
+
+        return sql;
+    }
+
+    private Transacao mapear(ResultSet rs) throws SQLException {
+        Transacao transacao = new Transacao(rs.getLong("conta_id"), TipoTransacao.valueOf(rs.getString("tipo_transacao")),
+                Dinheiro.valueOf(rs.getBigDecimal("valor")), rs.getTimestamp("data").toLocalDateTime());
+        transacao.setId(rs.getLong("id"));
+
+        return transacao;
+    }
+
+    private record ChaveDia(Long contaId, LocalDate dia) implements Comparable<ChaveDia> {
+        @Override
+        public int compareTo(ChaveDia outra) {
+            int comparacao = contaId.compareTo(outra.contaId);
+            return comparacao != 0 ? comparacao : dia.compareTo(outra.dia);
+        }
+    }
+
+    private static class MovimentoDia {
+        private long creditos;
+        private long debitos;
+        private long quantidade;
+
+        void somar(Transacao transacao) {
+            if (transacao.getTipo() == TipoTransacao.TRANSFERENCIA_RECEBIMENTO) {
+                creditos = Math.addExact(creditos, transacao.getValor().getCentavos());
+            } else {
+                debitos = Math.addExact(debitos, transacao.getValor().getCentavos());
+            }
+            quantidade++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+final class BuscaPorIds {
+    static final int LIMITE_MAXIMO_IDS = 1000;
+    private static final int TAMANHO_CHUNK = 500;
+
+    private BuscaPorIds() {
+    }
+
+    // Resolve o que já está no cache e busca o restante com um IN por chunk. A resposta segue a ordem pedida,
+    // inclusive repetições, e marca os ids que não existem (ou foram cancelados/inativados).
+    static <T> List<ResultadoPorIdResponseDto<T>> buscar(List<Long> ids, Function<Long, Optional<T>> emCache,
+                                                         Function<List<Long>, List<T>> consultar,
+                                                         Function<T, Long> idDe) {
+        if (ids == null || ids.isEmpty() || ids.size() > LIMITE_MAXIMO_IDS) {
+            throw new IllegalArgumentException("Informe entre 1 e " + LIMITE_MAXIMO_IDS + " ids.");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Os ids não podem ser nulos.");
+        }
+
+        Map<Long, T> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            emCache.apply(id).ifPresentOrElse(item -> encontrados.put(id, item), () -> faltantes.add(id));
+        }
+
+        for (int inicio = 0; inicio < faltantes.size(); inicio += TAMANHO_CHUNK) {
+            List<Long> chunk = faltantes.subList(inicio, Math.min(inicio + TAMANHO_CHUNK, faltantes.size()));
+            consultar.apply(chunk).forEach(item -> encontrados.put(idDe.apply(item), item));
+        }
+
+        return ids.stream().map(id -> {
+            T item = encontrados.get(id);
+            return new ResultadoPorIdResponseDto<>(id, item != null, item);
+        }).toList();
+    }
+}
@@ -0,0 +1,181 @@
+package Santander.Coders.Banco.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura por id com capacidade e TTL. Cada valor pode apontar para o id de uma entidade relacionada, para
+ * que a alteração dela também o invalide. Uma carga que termina depois de uma invalidação do mesmo id não é guardada,
+ * então um valor lido antes do commit de uma alteração nunca sobrevive a ela.
+ */
+final class CacheLeitura<V> {
+    private final long ttlNanos;
+    private final Function<V, Long> relacionado;
+    private final Map<Long, Long> porRelacionado = new HashMap<>();
+    private final Map<Long, Entrada<V>> entradas;
+    private final Counter acertos;
+    private final Counter faltas;
+    private final Counter expiracoes;
+    private final Counter remocoesPorCapacidade;
+
+    private long geracao;
+
+    CacheLeitura(String nome, int capacidade, Duration ttl, Function<V, Long> relacionado, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.relacionado = relacionado;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entrada<V>> eldest) {
+                if (size() <= capacidade) {
+                    return false;
+                }
+
+                desvincular(eldest.getKey(), eldest.getValue());
+                remocoesPorCapacidade.increment();
+                return true;
+            }
+        };
+        this.acertos = contador("cache.gets", nome, "result", "hit", meterRegistry);
+        this.faltas = contador("cache.gets", nome, "result", "miss", meterRegistry);
+        this.expiracoes = contador("cache.evictions", nome, "motivo", "expiracao", meterRegistry);
+        this.remocoesPorCapacidade = contador("cache.evictions", nome, "motivo", "capacidade", meterRegistry);
+        Gauge.builder("cache.size", this, CacheLeitura::tamanho)
+                .description("Entradas no cache de leitura")
+                .tag("cache", nome)
+                .register(meterRegistry);
+    }
+
+    V buscar(Long id, Supplier<V> carregar) {
+        Entrada<V> reserva;
+
+        synchronized (this) {
+            long agora = System.nanoTime();
+            removerExpiradas(agora);
+
+            Entrada<V> entrada = entradas.get(id);
+            if (entrada != null && entrada.valor() != null) {
+                acertos.increment();
+                return entrada.valor();
+            }
+
+            // A reserva marca a carga em andamento: se o id for invalidado antes dela terminar, o valor é descartado.
+            reserva = new Entrada<>(null, null, geracao, agora + ttlNanos);
+            remover(id);
+            entradas.put(id, reserva);
+        }
+
+        faltas.increment();
+        V valor;
+        try {
+            valor = carregar.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (entradas.get(id) == reserva) {
+                    entradas.remove(id);
+                }
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            if (entradas.get(id) == reserva && reserva.geracao() == geracao) {
+                entradas.remove(id);
+
+                Entrada<V> entrada = new Entrada<>(valor, relacionado.apply(valor), geracao, System.nanoTime() + ttlNanos);
+                entradas.put(id, entrada);
+                if (entrada.relacionado() != null) {
+                    porRelacionado.put(entrada.relacionado(), id);
+                }
+            }
+        }
+
+        return valor;
+    }
+
+    // Consulta sem carregar: quem precisa só de parte da resposta não deve guardar uma resposta incompleta.
+    synchronized Optional<V> obter(Long id) {
+        removerExpiradas(System.nanoTime());
+
+        Entrada<V> entrada = entradas.get(id);
+        if (entrada == null || entrada.valor() == null) {
+            faltas.increment();
+            return Optional.empty();
+        }
+
+        acertos.increment();
+        return Optional.of(entrada.valor());
+    }
+
+    synchronized void invalidar(Long id) {
+        remover(id);
+    }
+
+    synchronized void invalidarRelacionado(Long idRelacionado) {
+        Long id = porRelacionado.get(idRelacionado);
+        if (id != null) {
+            remover(id);
+        }
+
+        // Cargas em andamento ainda não sabem a que entidade estão ligadas; a mudança de geração descarta todas.
+        geracao++;
+    }
+
+    synchronized void limpar() {
+        entradas.clear();
+        porRelacionado.clear();
+        geracao++;
+    }
+
+    synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    private void remover(Long id) {
+        Entrada<V> entrada = entradas.remove(id);
+        if (entrada != null) {
+            desvincular(id, entrada);
+        }
+    }
+
+    private void desvincular(Long id, Entrada<V> entrada) {
+        if (entrada.relacionado() != null) {
+            porRelacionado.remove(entrada.relacionado(), id);
+        }
+    }
+
+    private void removerExpiradas(long agora) {
+        Iterator<Map.Entry<Long, Entrada<V>>> iterador = entradas.entrySet().iterator();
+
+        while (iterador.hasNext()) {
+            Map.Entry<Long, Entrada<V>> entrada = iterador.next();
+            if (entrada.getValue().expiraEm() - agora > 0) {
+                return;
+            }
+
+            desvincular(entrada.getKey(), entrada.getValue());
+            iterador.remove();
+            expiracoes.increment();
+        }
+    }
+
+    private static Counter contador(String metrica, String cache, String tag, String valor, MeterRegistry meterRegistry) {
+        return Counter.builder(metrica)
+                .description("Uso do cache de leitura")
+                .tag("cache", cache)
+                .tag(tag, valor)
+                .register(meterRegistry);
+    }
+
+    private record Entrada<V>(V valor, Long relacionado, long geracao, long expiraEm) {
+    }
+}
@@ -0,0 +1,112 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+public class CacheRespostas {
+    private static final Long TOTAL = 0L;
+
+    private final CacheLeitura<Versionado<ContaResponseDto>> contas;
+    private final CacheLeitura<Versionado<PessoaResponseDto>> pessoas;
+    private final CacheLeitura<Long> totalContas;
+    private final CacheLeitura<Long> totalPessoas;
+
+    public CacheRespostas(MeterRegistry meterRegistry,
+                          @Value("${banco.cache.respostas.capacidade:10000}") int capacidade,
+                          @Value("${banco.cache.respostas.ttl:PT30S}") Duration ttl) {
+        // A resposta da conta inclui o titular e a da pessoa inclui a conta: cada cache é indexado também pelo id
+        // da outra entidade, para que a alteração de uma invalide a resposta da outra. Cada resposta fica com a versão
+        // lida junto com ela, de onde sai o ETag.
+        this.contas = new CacheLeitura<>("contas", capacidade, ttl,
+                conta -> conta.corpo().titular() == null ? null : conta.corpo().titular().id(), meterRegistry);
+        this.pessoas = new CacheLeitura<>("pessoas", capacidade, ttl,
+                pessoa -> pessoa.corpo().conta() == null ? null : pessoa.corpo().conta().id(), meterRegistry);
+        this.totalContas = new CacheLeitura<>("contas.total", 1, ttl, total -> null, meterRegistry);
+        this.totalPessoas = new CacheLeitura<>("pessoas.total", 1, ttl, total -> null, meterRegistry);
+    }
+
+    public Versionado<ContaResponseDto> buscarConta(Long id, Supplier<Versionado<ContaResponseDto>> carregar) {
+        return contas.buscar(id, carregar);
+    }
+
+    public Versionado<PessoaResponseDto> buscarPessoa(Long id, Supplier<Versionado<PessoaResponseDto>> carregar) {
+        return pessoas.buscar(id, carregar);
+    }
+
+    public Optional<Versionado<ContaResponseDto>> contaEmCache(Long id) {
+        return contas.obter(id);
+    }
+
+    public Optional<Versionado<PessoaResponseDto>> pessoaEmCache(Long id) {
+        return pessoas.obter(id);
+    }
+
+    public long contarContas(Supplier<Long> contar) {
+        return totalContas.buscar(TOTAL, contar);
+    }
+
+    public long contarPessoas(Supplier<Long> contar) {
+        return totalPessoas.buscar(TOTAL, contar);
+    }
+
+    public void invalidarConta(Long id) {
+        invalidarContas(List.of(id));
+    }
+
+    public void invalidarContas(Collection<Long> ids) {
+        aoConcluir(() -> ids.forEach(id -> {
+            contas.invalidar(id);
+            pessoas.invalidarRelacionado(id);
+        }));
+    }
+
+    public void invalidarPessoa(Long id) {
+        aoConcluir(() -> {
+            pessoas.invalidar(id);
+            contas.invalidarRelacionado(id);
+        });
+    }
+
+    public void invalidarTotais() {
+        aoConcluir(() -> {
+            totalContas.limpar();
+            totalPessoas.limpar();
+        });
+    }
+
+    public void invalidarTudo() {
+        aoConcluir(() -> {
+            contas.limpar();
+            pessoas.limpar();
+        });
+    }
+
+    private void aoConcluir(Runnable invalidacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidacao.run();
+            return;
+        }
+
+        // Invalida só depois do fim da transação, para que uma leitura concorrente não guarde o valor anterior ao
+        // commit. Também invalida após rollback: movimentações feitas em transações internas já foram efetivadas.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidacao.run();
+            }
+        });
+    }
+}
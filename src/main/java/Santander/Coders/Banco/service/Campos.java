@@ -0,0 +1,55 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class Campos {
+    private Campos() {
+    }
+
+    static Set<String> ler(String fields, Collection<String> disponiveis) {
+        Set<String> campos = new LinkedHashSet<>();
+
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!disponiveis.contains(nome)) {
+                throw new IllegalArgumentException("Campo inválido: " + nome + ".");
+            }
+
+            campos.add(nome);
+        }
+
+        if (campos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo.");
+        }
+
+        return campos;
+    }
+
+    static ContaResponseDto recortar(ContaResponseDto conta, Set<String> campos) {
+        return new ContaResponseDto(
+                campos.contains("id") ? conta.id() : null,
+                campos.contains("agencia") ? conta.agencia() : null,
+                campos.contains("numero") ? conta.numero() : null,
+                campos.contains("tipo") ? conta.tipo() : null,
+                campos.contains("saldo") ? conta.saldo() : null,
+                campos.contains("titular") ? conta.titular() : null);
+    }
+
+    static PessoaResponseDto recortar(PessoaResponseDto pessoa, Set<String> campos) {
+        return new PessoaResponseDto(
+                campos.contains("id") ? pessoa.id() : null,
+                campos.contains("nome") ? pessoa.nome() : null,
+                campos.contains("cpf") ? pessoa.cpf() : null,
+                campos.contains("endereco") ? pessoa.endereco() : null,
+                campos.contains("telefone") ? pessoa.telefone() : null,
+                campos.contains("conta") ? pessoa.conta() : null);
+    }
+}
@@ -0,0 +1,153 @@
+package Santander.Coders.Banco.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commit em grupo das movimentações dos modos PESSIMISTA, OTIMISTA e ATOMICO: um único escritor junta as
+ * movimentações que chegam enquanto o lote anterior é confirmado e executa todas numa só transação, cada uma
+ * no seu savepoint. O saldo e as linhas do extrato de cada movimentação entram no mesmo commit, e quem chamou
+ * só é liberado depois dele, como no LedgerJournal.
+ */
+@Component
+@ConditionalOnProperty(name = "banco.contas.commit-em-grupo.habilitado", havingValue = "true", matchIfMissing = true)
+public class CommitEmGrupo {
+    private final TransactionTemplate lote;
+    private final EntityManager entityManager;
+    private final int tamanhoMaximoLote;
+    private final BlockingQueue<Registro> fila = new LinkedBlockingQueue<>();
+    private final Thread escritor;
+
+    private volatile boolean ativo = true;
+
+    public CommitEmGrupo(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                         @Value("${banco.contas.commit-em-grupo.tamanho-maximo-lote:200}") int tamanhoMaximoLote) {
+        this.lote = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.escritor = new Thread(this::escrever, "commit-em-grupo");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Executa a operação no próximo lote e espera o commit. Devolve false quando ela não foi efetivada pelo lote
+     * (conflito de concorrência ou falha ao confirmar o lote): nada dela foi gravado e quem chamou deve
+     * executá-la sozinho. Erros de negócio da operação são relançados.
+     */
+    public boolean executar(Runnable operacao) {
+        if (!ativo) {
+            return false;
+        }
+
+        Registro registro = new Registro(operacao, new CompletableFuture<>());
+        fila.add(registro);
+
+        try {
+            return registro.confirmacao().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+
+            throw e;
+        }
+    }
+
+    int pendentes() {
+        return fila.size();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void escrever() {
+        List<Registro> registros = new ArrayList<>(tamanhoMaximoLote);
+
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Registro primeiro = fila.poll(50, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+
+                registros.add(primeiro);
+                fila.drainTo(registros, tamanhoMaximoLote - 1);
+                gravar(registros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                registros.forEach(registro -> registro.confirmacao().complete(false));
+                return;
+            }
+
+            registros.clear();
+        }
+    }
+
+    private void gravar(List<Registro> registros) {
+        Map<Registro, RuntimeException> falhas = new IdentityHashMap<>();
+
+        try {
+            lote.executeWithoutResult(status -> {
+                Session sessao = entityManager.unwrap(Session.class);
+                for (Registro registro : registros) {
+                    Savepoint savepoint = sessao.doReturningWork(Connection::setSavepoint);
+                    try {
+                        registro.operacao().run();
+                        entityManager.flush();
+                        sessao.doWork(conexao -> conexao.releaseSavepoint(savepoint));
+                    } catch (RuntimeException e) {
+                        // O savepoint desfaz o SQL da operação; as anteriores já foram enviadas ao banco, então
+                        // limpar o contexto só descarta as entidades que ela alterou.
+                        sessao.doWork(conexao -> conexao.rollback(savepoint));
+                        entityManager.clear();
+                        falhas.put(registro, e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nada do lote foi confirmado, inclusive quando um serviço transacional chamado por uma operação falhou
+            // e marcou o lote para rollback: cada operação é refeita sozinha, com as novas tentativas do
+            // MovimentacaoExecutor.
+            registros.forEach(registro -> registro.confirmacao().complete(false));
+            return;
+        }
+
+        for (Registro registro : registros) {
+            RuntimeException falha = falhas.get(registro);
+            if (falha == null) {
+                registro.confirmacao().complete(true);
+            } else if (falha instanceof DataAccessException || falha instanceof PersistenceException) {
+                registro.confirmacao().complete(false);
+            } else {
+                registro.confirmacao().completeExceptionally(falha);
+            }
+        }
+    }
+
+    private record Registro(Runnable operacao, CompletableFuture<Boolean> confirmacao) {
+    }
+}
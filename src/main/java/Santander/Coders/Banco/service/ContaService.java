@@ -1,54 +1,176 @@
 package Santander.Coders.Banco.service;
 
+import Santander.Coders.Banco.config.Roteamento;
 import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.mapper.ContaMapper;
+import Santander.Coders.Banco.mapper.TransacaoMapper;
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.SaldoDiario;
 import Santander.Coders.Banco.model.TipoTransacao;
 import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.request.ContaPostDto;
 import Santander.Coders.Banco.model.request.ContaPutDto;
+import Santander.Coders.Banco.model.request.CreditoLoteItemDto;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.CreditoLoteResponseDto;
+import Santander.Coders.Banco.model.response.CursorResponseDto;
+import Santander.Coders.Banco.model.response.ExtratoResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
+import Santander.Coders.Banco.model.response.ResumoDiarioResponseDto;
+import Santander.Coders.Banco.model.response.ResumoResponseDto;
 import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.SaldoDiarioRepository;
 import Santander.Coders.Banco.repository.TransacaoRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class ContaService {
+    private static final int TAMANHO_BUFFER_CREDITOS = 1000;
+    private static final int LIMITE_MAXIMO_EXTRATO = 500;
+    private static final int LIMITE_MAXIMO_LISTAGEM = 500;
+    private static final int DIAS_MAXIMOS_RESUMO = 366;
+
     private final ContaRepository contaRepository;
     private final ContaMapper contaMapper;
+    private final TransacaoMapper transacaoMapper;
     private final TransacaoRepository transacaoRepository;
+    private final SaldoDiarioRepository saldoDiarioRepository;
+    private final MovimentacaoExecutor movimentacaoExecutor;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+    private final CacheRespostas cacheRespostas;
+
+    @Value("${banco.contas.modo-concorrencia:PESSIMISTA}")
+    private ModoConcorrencia modoConcorrencia = ModoConcorrencia.PESSIMISTA;
 
+    @SomenteLeitura
     public Page<ContaResponseDto> findAll(Pageable pageable) {
-        Page<Conta> contas = contaRepository.findAllAndCanceledFalse(pageable);
+        Slice<ContaResponseDto> contas = contaRepository.findAllResponseDtoAndCanceledFalse(pageable);
+
+        // O total só é consultado quando não dá para deduzi-lo pela própria página, e fica em cache por alguns segundos.
+        return contas.isEmpty() ? Page.empty() : PageableExecutionUtils.getPage(contas.getContent(), pageable,
+                () -> cacheRespostas.contarContas(contaRepository::countByCanceledFalse));
+    }
+
+    @SomenteLeitura
+    public CursorResponseDto<ContaResponseDto> listar(String cursor, int limite, String fields) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_LISTAGEM) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_LISTAGEM + ".");
+        }
+
+        if (fields == null || fields.isBlank()) {
+            Slice<ContaResponseDto> contas = contaRepository.findAllResponseDtoAndCanceledFalseAndIdGreaterThan(
+                    Cursores.lerId(cursor), PageRequest.ofSize(limite));
+            List<ContaResponseDto> itens = contas.getContent();
 
-        return contas.isEmpty() ? Page.empty() : contas.map(contaMapper::toResponseDto);
+            return new CursorResponseDto<>(itens, contas.hasNext() ? Cursores.criar(itens.get(itens.size() - 1).id()) : null);
+        }
+
+        Set<String> campos = Campos.ler(fields, ContaResponseDto.CAMPOS);
+        List<ContaResponseDto> itens = contaRepository.buscarCamposAposId(Cursores.lerId(cursor), limite + 1, campos);
+        String proximoCursor = null;
+        if (itens.size() > limite) {
+            itens = itens.subList(0, limite);
+            proximoCursor = Cursores.criar(itens.get(limite - 1).id());
+        }
+
+        return new CursorResponseDto<>(itens.stream().map(item -> Campos.recortar(item, campos)).toList(), proximoCursor);
     }
 
+    @SomenteLeitura
+    public ContaResponseDto findById(Long id, String fields) {
+        return findVersionadoById(id, fields).corpo();
+    }
+
+    // O corpo e a versão de onde sai o ETag vêm da mesma leitura, do cache ou do banco.
+    @SomenteLeitura
+    public Versionado<ContaResponseDto> findVersionadoById(Long id, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return buscarVersionado(id);
+        }
 
+        // Uma resposta completa em cache atende qualquer recorte; sem ela, a consulta lê só as colunas pedidas.
+        Set<String> campos = Campos.ler(fields, ContaResponseDto.CAMPOS);
+        Versionado<ContaResponseDto> conta = cacheRespostas.contaEmCache(id)
+                .or(() -> contaRepository.buscarCampos(id, campos))
+                .orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."));
+        // Como na consulta dos campos: sem o titular no recorte, a alteração dele não muda a versão.
+        Versao versao = campos.contains("titular") ? conta.versao() : new Versao(conta.versao().versao(), null);
+
+        return new Versionado<>(Campos.recortar(conta.corpo(), campos), versao.comCampos(campos));
+    }
+
+    @SomenteLeitura
+    public List<ResultadoPorIdResponseDto<ContaResponseDto>> findAllById(List<Long> ids) {
+        return BuscaPorIds.buscar(ids, id -> cacheRespostas.contaEmCache(id).map(Versionado::corpo),
+                contaRepository::findAllResponseDtoByIdInAndCanceledFalse, ContaResponseDto::id);
+    }
+
+    @SomenteLeitura
     public ContaResponseDto findById(Long id) {
-            Conta conta = contaRepository.findByIdAndCanceledFalse(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."));
+        return buscarVersionado(id).corpo();
+    }
 
-            return contaMapper.toResponseDto(conta);
+    private Versionado<ContaResponseDto> buscarVersionado(Long id) {
+        // A carga do cache vem do primário: lida na réplica, poderia guardar um valor anterior a uma alteração já
+        // invalidada, e ele seria servido até o TTL, inclusive para quem fez a alteração.
+        return cacheRespostas.buscarConta(id, () -> Roteamento.noPrimario(() -> contaRepository.buscarVersionado(id)
+                .orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."))));
     }
 
     public ContaResponseDto save(ContaPostDto contaPostDto) {
-        Conta conta = contaMapper.postDtoToEntity(contaPostDto);
+        Conta conta = contaMapper.postDtoToEntity(Objects.requireNonNull(contaPostDto));
 
-        if (contaRepository.existsByNumero(conta.getNumero())) {
-            throw new EntityNotFoundException("Conta já existente!");
-        }
+        // A unicidade do número é garantida pela restrição uk_contas_numero: uma consulta prévia não impediria
+        // que duas requisições simultâneas criassem o mesmo número.
+        try {
+            ContaResponseDto response = contaMapper.toResponseDto(contaRepository.saveAndFlush(conta));
+            cacheRespostas.invalidarTotais();
+            // A resposta em cache do titular ainda não tem a conta.
+            if (response.titular() != null) {
+                cacheRespostas.invalidarPessoa(response.titular().id());
+            }
 
-        return contaMapper.toResponseDto(contaRepository.save(conta));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            if (Restricoes.violou(e, "uk_contas_numero")) {
+                throw new EntityNotFoundException("Conta já existente!");
+            }
+
+            throw e;
+        }
     }
 
     public void update(Long id, ContaPutDto contaPutDto) {
@@ -56,6 +178,7 @@ public class ContaService {
 
         conta.update(contaMapper.putDtoToEntity(contaPutDto));
         contaRepository.save(conta);
+        cacheRespostas.invalidarConta(id);
     }
 
     public void delete(Long id) {
@@ -63,41 +186,329 @@ public class ContaService {
 
         conta.delete();
         contaRepository.save(conta);
+        cacheRespostas.invalidarConta(id);
+        cacheRespostas.invalidarTotais();
     }
 
-    public void depositar(Long id, Double valor) {
-        Conta conta = contaRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."));
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void depositar(Long id, Dinheiro quantia) {
+        cacheRespostas.invalidarConta(id);
 
-        conta.depositar(new BigDecimal(valor));
-        contaRepository.save(conta);
+        if (modoConcorrencia == ModoConcorrencia.LEDGER) {
+            validarValor(quantia, "O valor do depósito deve ser maior que zero.");
+            aguardar(ledgerEngine.getObject().depositar(id, quantia));
+            return;
+        }
+
+        movimentacaoExecutor.executar(() -> {
+            if (modoConcorrencia == ModoConcorrencia.ATOMICO) {
+                validarValor(quantia, "O valor do depósito deve ser maior que zero.");
+                creditar(id, quantia, "Conta não encontrada.");
+            } else {
+                Conta conta = buscarParaMovimentacao(id, "Conta não encontrada.");
 
-        Transacao transacao = new Transacao(conta.getId(), TipoTransacao.TRANSFERENCIA_RECEBIMENTO, new BigDecimal(valor), LocalDateTime.now());
-        transacaoRepository.save(transacao);
+                conta.depositar(quantia);
+                contaRepository.save(conta);
+            }
+
+            registrar(new Transacao(id, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, quantia, LocalDateTime.now()));
+        });
     }
 
-    public void sacar(Long id, Double valor) {
-        Conta conta = contaRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."));
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void sacar(Long id, Dinheiro quantia) {
+        cacheRespostas.invalidarConta(id);
 
-        conta.sacar(new BigDecimal(valor));
-        contaRepository.save(conta);
+        if (modoConcorrencia == ModoConcorrencia.LEDGER) {
+            validarValor(quantia, "O valor do saque deve ser maior que zero.");
+            aguardar(ledgerEngine.getObject().sacar(id, quantia));
+            return;
+        }
+
+        movimentacaoExecutor.executar(() -> {
+            if (modoConcorrencia == ModoConcorrencia.ATOMICO) {
+                validarValor(quantia, "O valor do saque deve ser maior que zero.");
+                debitar(id, quantia, "Conta não encontrada.", "Saldo insuficiente para realizar o saque.");
+            } else {
+                Conta conta = buscarParaMovimentacao(id, "Conta não encontrada.");
+
+                conta.sacar(quantia);
+                contaRepository.save(conta);
+            }
+
+            registrar(new Transacao(id, TipoTransacao.TRANSFERENCIA_ENVIO, quantia, LocalDateTime.now()));
+        });
+    }
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void transferir(Long id, Long idDestino, Dinheiro quantia) {
+        if (id.equals(idDestino)) {
+            throw new IllegalArgumentException("Conta de destino deve ser diferente da conta de origem.");
+        }
+
+        cacheRespostas.invalidarContas(List.of(id, idDestino));
+
+        if (modoConcorrencia == ModoConcorrencia.LEDGER) {
+            validarValor(quantia, "O valor da transferência deve ser maior que zero.");
+            aguardar(ledgerEngine.getObject().transferir(id, idDestino, quantia));
+            return;
+        }
+
+        movimentacaoExecutor.executar(() -> {
+            // As duas linhas são sempre bloqueadas em ordem crescente de id para evitar deadlock
+            // entre transferências simultâneas em sentidos opostos.
+            if (modoConcorrencia == ModoConcorrencia.ATOMICO) {
+                validarValor(quantia, "O valor da transferência deve ser maior que zero.");
+
+                if (id < idDestino) {
+                    debitar(id, quantia, "Conta de origem não encontrada.", "Saldo insuficiente para realizar a transferência.");
+                    creditar(idDestino, quantia, "Conta de destino não encontrada.");
+                } else {
+                    creditar(idDestino, quantia, "Conta de destino não encontrada.");
+                    debitar(id, quantia, "Conta de origem não encontrada.", "Saldo insuficiente para realizar a transferência.");
+                }
+            } else {
+                Conta contaOrigem;
+                Conta contaDestino;
+                if (id < idDestino) {
+                    contaOrigem = buscarParaMovimentacao(id, "Conta de origem não encontrada.");
+                    contaDestino = buscarParaMovimentacao(idDestino, "Conta de destino não encontrada.");
+                } else {
+                    contaDestino = buscarParaMovimentacao(idDestino, "Conta de destino não encontrada.");
+                    contaOrigem = buscarParaMovimentacao(id, "Conta de origem não encontrada.");
+                }
+
+                contaOrigem.transferir(contaDestino, quantia);
+                contaRepository.save(contaOrigem);
+                contaRepository.save(contaDestino);
+            }
+
+            LocalDateTime data = LocalDateTime.now();
+            registrar(
+                    new Transacao(id, TipoTransacao.TRANSFERENCIA_ENVIO, quantia, data),
+                    new Transacao(idDestino, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, quantia, data)
+            );
+        });
+    }
+
+    public CreditoLoteResponseDto creditarEmLote(Long id, BufferedReader creditos) {
+        if (modoConcorrencia == ModoConcorrencia.LEDGER) {
+            throw new IllegalStateException("Crédito em lote indisponível no modo LEDGER.");
+        }
+
+        String lote = UUID.randomUUID().toString();
+        List<CreditoLoteItemDto> buffer = new ArrayList<>(TAMANHO_BUFFER_CREDITOS);
+        Dinheiro total = Dinheiro.ZERO;
+        long quantidade = 0;
+
+        try {
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = creditos.readLine()) != null) {
+                numeroLinha++;
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+
+                CreditoLoteItemDto credito = lerCredito(linha, numeroLinha);
+                buffer.add(credito);
+                total = total.somar(credito.valor());
+                quantidade++;
+
+                if (buffer.size() == TAMANHO_BUFFER_CREDITOS) {
+                    contaRepository.inserirCreditosLote(lote, buffer);
+                    buffer.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (quantidade == 0) {
+            throw new IllegalArgumentException("Nenhum crédito informado.");
+        }
 
-        Transacao transacao = new Transacao(conta.getId(), TipoTransacao.TRANSFERENCIA_ENVIO, new BigDecimal(valor), LocalDateTime.now());
-        transacaoRepository.save(transacao);
+        contaRepository.inserirCreditosLote(lote, buffer);
+        contaRepository.bloquearContasDoLote(lote, id);
+
+        List<Long> inexistentes = contaRepository.findContasInexistentesDoLote(lote);
+        if (!inexistentes.isEmpty()) {
+            throw new EntityNotFoundException("Contas de destino não encontradas: " + inexistentes);
+        }
+
+        debitar(id, total, "Conta de origem não encontrada.", "Saldo insuficiente para realizar o crédito em lote.");
+        int contasCreditadas = contaRepository.creditarLote(lote);
+        cacheRespostas.invalidarTudo();
+
+        LocalDateTime data = LocalDateTime.now();
+        transacaoRepository.inserirEmLote(List.of(new Transacao(id, TipoTransacao.TRANSFERENCIA_ENVIO, total, data)));
+        contaRepository.registrarTransacoesLote(lote, data);
+        contaRepository.removerCreditosLote(lote);
+
+        return new CreditoLoteResponseDto(id, quantidade, contasCreditadas, total);
+    }
+
+    @SomenteLeitura
+    public ExtratoResponseDto extrato(Long id, LocalDateTime inicio, LocalDateTime fim, TipoTransacao tipo,
+                                      String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_EXTRATO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_EXTRATO + ".");
+        }
+        if (inicio != null && fim != null && !inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior à data final.");
+        }
+        if (!contaRepository.existsById(id)) {
+            throw new EntityNotFoundException("Conta não encontrada.");
+        }
+
+        Transacao apos = cursor == null || cursor.isBlank() ? null : lerCursor(cursor);
+
+        // Busca uma linha a mais só para saber se existe próxima página.
+        List<Transacao> transacoes = transacaoRepository.buscarExtrato(id, inicio, fim, tipo,
+                apos == null ? null : apos.getData(), apos == null ? null : apos.getId(), limite + 1);
+
+        String proximoCursor = null;
+        if (transacoes.size() > limite) {
+            transacoes = transacoes.subList(0, limite);
+            proximoCursor = criarCursor(transacoes.get(limite - 1));
+        }
+
+        return new ExtratoResponseDto(transacoes.stream().map(transacaoMapper::toResponseDto).toList(), proximoCursor);
+    }
+
+    private CreditoLoteItemDto lerCredito(String linha, int numeroLinha) {
+        String[] campos = linha.split(";");
+        CreditoLoteItemDto credito;
+
+        try {
+            if (campos.length != 2) {
+                throw new NumberFormatException();
+            }
+
+            credito = new CreditoLoteItemDto(Long.valueOf(campos[0].strip()), Dinheiro.valueOf(campos[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " inválida, formato esperado: conta_id;valor.");
+        }
+
+        validarValor(credito.valor(), "O valor do crédito deve ser maior que zero (linha " + numeroLinha + ").");
+
+        return credito;
+    }
+
+    @SomenteLeitura
+    public ResumoResponseDto resumo(Long id, LocalDate de, LocalDate ate) {
+        if (de.isAfter(ate)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= DIAS_MAXIMOS_RESUMO) {
+            throw new IllegalArgumentException("O período do resumo deve ter no máximo " + DIAS_MAXIMOS_RESUMO + " dias.");
+        }
+        if (!contaRepository.existsById(id)) {
+            throw new EntityNotFoundException("Conta não encontrada.");
+        }
+
+        // Só existem linhas para dias com movimentação, então o custo é proporcional aos dias do período.
+        List<SaldoDiario> saldos = saldoDiarioRepository.findByContaIdAndDiaBetweenOrderByDia(id, de, ate);
+        Dinheiro saldoInicial = saldos.isEmpty() ? saldoSemMovimentacao(id, de, ate) : saldos.get(0).getSaldoInicial();
+        Dinheiro creditos = Dinheiro.ZERO;
+        Dinheiro debitos = Dinheiro.ZERO;
+        long quantidade = 0;
+        List<ResumoDiarioResponseDto> dias = new ArrayList<>(saldos.size());
+
+        for (SaldoDiario saldo : saldos) {
+            creditos = creditos.somar(saldo.getCreditos());
+            debitos = debitos.somar(saldo.getDebitos());
+            quantidade += saldo.getQuantidade();
+            dias.add(new ResumoDiarioResponseDto(saldo.getDia(), saldo.getSaldoInicial(), saldo.getCreditos(),
+                    saldo.getDebitos(), saldo.getSaldoFinal(), saldo.getQuantidade()));
+        }
+
+        return new ResumoResponseDto(id, de, ate, saldoInicial, creditos, debitos,
+                saldoInicial.somar(creditos).subtrair(debitos), quantidade, dias);
+    }
+
+    private Dinheiro saldoSemMovimentacao(Long id, LocalDate de, LocalDate ate) {
+        // Sem movimentação no período o saldo não muda: é o final do último dia anterior ou o inicial do próximo.
+        return saldoDiarioRepository.findFirstByContaIdAndDiaLessThanOrderByDiaDesc(id, de)
+                .map(SaldoDiario::getSaldoFinal)
+                .or(() -> saldoDiarioRepository.findFirstByContaIdAndDiaGreaterThanOrderByDia(id, ate)
+                        .map(SaldoDiario::getSaldoInicial))
+                .orElse(Dinheiro.ZERO);
+    }
+
+    private String criarCursor(Transacao transacao) {
+        String posicao = transacao.getData() + "_" + transacao.getId();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
     }
 
-    public void transferir(Long id, Long idDestino, Double valor) {
-        Conta contaOrigem = contaRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Conta de origem não encontrada."));
-        Conta contaDestino = contaRepository.findById(idDestino).orElseThrow(() -> new EntityNotFoundException("Conta de destino não encontrada."));
+    private Transacao lerCursor(String cursor) {
+        try {
+            String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (posicao.length != 2) {
+                throw new IllegalArgumentException();
+            }
 
-        contaOrigem.transferir(contaDestino, new BigDecimal(valor));
-        contaRepository.save(contaOrigem);
-        contaRepository.save(contaDestino);
+            Transacao transacao = new Transacao();
+            transacao.setData(LocalDateTime.parse(posicao[0]));
+            transacao.setId(Long.valueOf(posicao[1]));
+            return transacao;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de extrato inválido.");
+        }
+    }
 
+    private Conta buscarParaMovimentacao(Long id, String mensagem) {
+        Optional<Conta> conta = modoConcorrencia == ModoConcorrencia.OTIMISTA
+                ? contaRepository.findById(id)
+                : contaRepository.findByIdForUpdate(id);
 
-        Transacao transacao = new Transacao(contaOrigem.getId(), TipoTransacao.TRANSFERENCIA_ENVIO, new BigDecimal(valor), LocalDateTime.now());
-        transacaoRepository.save(transacao);
+        return conta.orElseThrow(() -> new EntityNotFoundException(mensagem));
+    }
+
+    private void registrar(Transacao... transacoes) {
+        // O registro do extrato entra na mesma transação da movimentação (em geral a do CommitEmGrupo, que
+        // confirma várias movimentações num só commit): o saldo nunca é confirmado sem ele.
+        transacaoRepository.inserirEmLote(List.of(transacoes));
+    }
 
-        transacao = new Transacao(contaDestino.getId(), TipoTransacao.TRANSFERENCIA_ENVIO, new BigDecimal(valor), LocalDateTime.now());
-        transacaoRepository.save(transacao);
+    private void aguardar(CompletableFuture<Void> operacao) {
+        try {
+            operacao.join();
+        } catch (CompletionException e) {
+            Throwable causa = e;
+            while (causa instanceof CompletionException && causa.getCause() != null) {
+                causa = causa.getCause();
+            }
+
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw e;
+        }
+    }
+
+    private void validarValor(Dinheiro valor, String mensagem) {
+        if (!valor.isPositivo()) {
+            throw new IllegalArgumentException(mensagem);
+        }
+    }
+
+    private void creditar(Long id, Dinheiro valor, String mensagemNaoEncontrada) {
+        if (contaRepository.creditar(id, valor.toBigDecimal()) == 0) {
+            throw new EntityNotFoundException(mensagemNaoEncontrada);
+        }
+    }
+
+    private void debitar(Long id, Dinheiro valor, String mensagemNaoEncontrada, String mensagemSaldoInsuficiente) {
+        if (contaRepository.debitar(id, valor.toBigDecimal()) == 0) {
+            if (contaRepository.existsById(id)) {
+                throw new IllegalArgumentException(mensagemSaldoInsuficiente);
+            }
+
+            throw new EntityNotFoundException(mensagemNaoEncontrada);
+        }
     }
 }
@@ -0,0 +1,25 @@
+package Santander.Coders.Banco.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class Cursores {
+    private Cursores() {
+    }
+
+    static String criar(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long lerId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de listagem inválido.");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.mapper.TransacaoMapper;
+import Santander.Coders.Banco.model.FormatoExportacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Service
+public class ExportacaoTransacoesService {
+    private static final int TAMANHO_BLOCO = 8192;
+
+    private final ContaRepository contaRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final TransacaoMapper transacaoMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+    private final long timeoutMs;
+    private final ExecutorService executor;
+
+    public ExportacaoTransacoesService(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+                                       TransacaoMapper transacaoMapper, ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${banco.transacoes.exportacao.fetch-size:1000}") int fetchSize,
+                                       @Value("${banco.transacoes.exportacao.threads:4}") int threads,
+                                       @Value("${banco.transacoes.exportacao.timeout:PT30M}") Duration timeout) {
+        this.contaRepository = contaRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.transacaoMapper = transacaoMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.timeoutMs = timeout.toMillis();
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "exportacao-transacoes-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public StreamingResponseBody exportar(Long id, LocalDateTime inicio, LocalDateTime fim, FormatoExportacao formato) {
+        if (inicio != null && fim != null && !inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior à data final.");
+        }
+        if (!contaRepository.existsById(id)) {
+            throw new EntityNotFoundException("Conta não encontrada.");
+        }
+
+        // O corpo é escrito depois que o controller retorna, em outra thread: a leitura abre a própria transação
+        // e as linhas vão direto do cursor JDBC para a resposta, sem passar pelo contexto de persistência.
+        return saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+            transactionTemplate.executeWithoutResult(status -> transacaoRepository.percorrer(id, inicio, fim, fetchSize,
+                    formato == FormatoExportacao.CSV ? escreverCsv(writer) : escreverNdjson(writer)));
+            writer.flush();
+        };
+    }
+
+    public ResponseBodyEmitter transmitir(StreamingResponseBody corpo) {
+        // Exportações longas rodam em threads e com timeout próprios: o timeout assíncrono padrão continua valendo
+        // para o resto da aplicação, e uma extração demorada não ocupa o executor das outras requisições.
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+
+        executor.execute(() -> {
+            try (OutputStream saida = new BufferedOutputStream(new SaidaEmitter(emitter), TAMANHO_BLOCO)) {
+                corpo.writeTo(saida);
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+
+            emitter.complete();
+        });
+
+        return emitter;
+    }
+
+    @PreDestroy
+    public void parar() {
+        executor.shutdownNow();
+    }
+
+    private Consumer<Transacao> escreverCsv(Writer writer) {
+        escrever(writer, "id;tipo;valor;data\n");
+
+        return transacao -> escrever(writer, transacao.getId() + ";" + transacao.getTipo() + ";"
+                + transacao.getValor() + ";" + transacao.getData() + "\n");
+    }
+
+    private Consumer<Transacao> escreverNdjson(Writer writer) {
+        JsonGenerator gerador = criarGerador(writer);
+
+        return transacao -> {
+            try {
+                objectMapper.writeValue(gerador, transacaoMapper.toResponseDto(transacao));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private JsonGenerator criarGerador(Writer writer) {
+        try {
+            // Uma linha por objeto, sem o separador padrão entre valores raiz. O flush feito a cada objeto só esvazia
+            // o buffer do gerador no writer, que é quem decide quando enviar para a resposta.
+            JsonGenerator gerador = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            gerador.setRootValueSeparator(null);
+
+            return gerador;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escrever(Writer writer, String linha) {
+        try {
+            writer.write(linha);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class SaidaEmitter extends OutputStream {
+        private final ResponseBodyEmitter emitter;
+
+        SaidaEmitter(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            // Cada bloco vai para a resposta assim que o buffer enche, e depois do timeout o envio falha e
+            // interrompe a leitura.
+            emitter.send(Arrays.copyOfRange(b, off, off + len));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Idempotencia;
+import Santander.Coders.Banco.repository.IdempotenciaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class IdempotenciaService {
+    private final IdempotenciaRepository idempotenciaRepository;
+    private final MovimentacaoExecutor movimentacaoExecutor;
+    private final long ttlNanos;
+    private final Map<String, Entrada> cache;
+
+    public IdempotenciaService(IdempotenciaRepository idempotenciaRepository, MovimentacaoExecutor movimentacaoExecutor,
+                               @Value("${banco.idempotencia.cache.capacidade:10000}") int capacidade,
+                               @Value("${banco.idempotencia.cache.ttl:PT10M}") Duration ttl) {
+        this.idempotenciaRepository = idempotenciaRepository;
+        this.movimentacaoExecutor = movimentacaoExecutor;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    public void executar(String chave, String requisicao, Runnable operacao) {
+        if (chave == null || chave.isBlank()) {
+            operacao.run();
+            return;
+        }
+
+        CompletableFuture<Idempotencia> resultado = new CompletableFuture<>();
+        CompletableFuture<Idempotencia> existente = reservar(chave, resultado);
+
+        if (existente != null) {
+            reproduzir(existente.join(), requisicao);
+            return;
+        }
+
+        Idempotencia idempotencia;
+        try {
+            idempotencia = idempotenciaRepository.findById(chave)
+                    .orElseGet(() -> executarERegistrar(chave, requisicao, operacao));
+            resultado.complete(idempotencia);
+        } catch (RuntimeException e) {
+            // Falhas de infraestrutura desfazem a movimentação junto com a chave: ela é liberada para que
+            // uma nova tentativa do cliente execute a operação novamente.
+            synchronized (cache) {
+                cache.remove(chave);
+            }
+            resultado.completeExceptionally(e);
+            throw e;
+        }
+
+        reproduzir(idempotencia, requisicao);
+    }
+
+    private CompletableFuture<Idempotencia> reservar(String chave, CompletableFuture<Idempotencia> resultado) {
+        long agora = System.nanoTime();
+
+        synchronized (cache) {
+            removerExpiradas(agora);
+
+            Entrada entrada = cache.get(chave);
+            if (entrada != null) {
+                return entrada.resultado();
+            }
+
+            cache.put(chave, new Entrada(resultado, agora + ttlNanos));
+            return null;
+        }
+    }
+
+    private void removerExpiradas(long agora) {
+        Iterator<Entrada> entradas = cache.values().iterator();
+
+        while (entradas.hasNext()) {
+            Entrada entrada = entradas.next();
+            if (entrada.expiraEm() - agora > 0) {
+                return;
+            }
+
+            entradas.remove();
+        }
+    }
+
+    private Idempotencia executarERegistrar(String chave, String requisicao, Runnable operacao) {
+        Idempotencia sucesso = new Idempotencia(chave, requisicao, true, null, null);
+
+        try {
+            // A chave é gravada antes da movimentação e confirmada no mesmo commit: ou as duas existem, ou
+            // nenhuma. Outra instância com a mesma chave espera na chave primária até este commit e então
+            // reproduz o desfecho, sem executar de novo. No modo LEDGER a movimentação é gravada pelo journal
+            // do ledger, fora desta transação, então só a reserva concorrente da chave fica garantida.
+            movimentacaoExecutor.executar(() -> {
+                idempotenciaRepository.inserir(sucesso);
+                operacao.run();
+            });
+            return sucesso;
+        } catch (DataIntegrityViolationException e) {
+            return registrada(chave, e);
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            // A falha de negócio desfez a movimentação junto com a chave; o desfecho é gravado à parte.
+            return registrarFalha(new Idempotencia(chave, requisicao, false, e.getClass().getSimpleName(), e.getMessage()));
+        }
+    }
+
+    private Idempotencia registrarFalha(Idempotencia falha) {
+        try {
+            movimentacaoExecutor.executar(() -> idempotenciaRepository.inserir(falha));
+            return falha;
+        } catch (DataIntegrityViolationException e) {
+            return registrada(falha.getChave(), e);
+        }
+    }
+
+    private Idempotencia registrada(String chave, DataIntegrityViolationException conflito) {
+        // Sem registro da chave, a violação veio da própria operação e não de outra execução concorrente.
+        return idempotenciaRepository.findById(chave).orElseThrow(() -> conflito);
+    }
+
+    private void reproduzir(Idempotencia idempotencia, String requisicao) {
+        if (!idempotencia.getRequisicao().equals(requisicao)) {
+            throw new IllegalArgumentException("Idempotency-Key já utilizada em outra requisição.");
+        }
+
+        if (idempotencia.isSucesso()) {
+            return;
+        }
+
+        if (EntityNotFoundException.class.getSimpleName().equals(idempotencia.getErroTipo())) {
+            throw new EntityNotFoundException(idempotencia.getErroMensagem());
+        }
+
+        throw new IllegalArgumentException(idempotencia.getErroMensagem());
+    }
+
+    private record Entrada(CompletableFuture<Idempotencia> resultado, long expiraEm) {
+    }
+}
@@ -0,0 +1,165 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "banco.contas.modo-concorrencia", havingValue = "LEDGER")
+public class LedgerEngine {
+    private final ContaRepository contaRepository;
+    private final LedgerJournal ledgerJournal;
+    private final Particao[] particoes;
+
+    public LedgerEngine(ContaRepository contaRepository, LedgerJournal ledgerJournal,
+                        @Value("${banco.ledger.particoes:4}") int quantidadeParticoes) {
+        this.contaRepository = contaRepository;
+        this.ledgerJournal = ledgerJournal;
+        this.particoes = new Particao[quantidadeParticoes];
+
+        for (int i = 0; i < quantidadeParticoes; i++) {
+            particoes[i] = new Particao(i);
+        }
+    }
+
+    public CompletableFuture<Void> depositar(Long id, Dinheiro valor) {
+        Particao particao = particao(id);
+
+        return particao.executar(() -> {
+            particao.creditar(id, valor, "Conta não encontrada.");
+
+            return ledgerJournal.registrar(List.of(
+                    new Transacao(id, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, valor, LocalDateTime.now())
+            ));
+        }).thenCompose(Function.identity());
+    }
+
+    public CompletableFuture<Void> sacar(Long id, Dinheiro valor) {
+        Particao particao = particao(id);
+
+        return particao.executar(() -> {
+            particao.debitar(id, valor, "Conta não encontrada.", "Saldo insuficiente para realizar o saque.");
+
+            return ledgerJournal.registrar(List.of(
+                    new Transacao(id, TipoTransacao.TRANSFERENCIA_ENVIO, valor, LocalDateTime.now())
+            ));
+        }).thenCompose(Function.identity());
+    }
+
+    public CompletableFuture<Void> transferir(Long id, Long idDestino, Dinheiro valor) {
+        Particao particaoOrigem = particao(id);
+        Particao particaoDestino = particao(idDestino);
+
+        if (particaoOrigem == particaoDestino) {
+            return particaoOrigem.executar(() -> {
+                particaoOrigem.carregar(idDestino, "Conta de destino não encontrada.");
+                particaoOrigem.debitar(id, valor, "Conta de origem não encontrada.", "Saldo insuficiente para realizar a transferência.");
+                particaoOrigem.creditar(idDestino, valor, "Conta de destino não encontrada.");
+
+                return registrarTransferencia(id, idDestino, valor);
+            }).thenCompose(Function.identity());
+        }
+
+        // Entre partições a transferência é feita em duas etapas: a origem reserva o valor na sua
+        // thread e a destino o credita na dela. Se o crédito falhar, o valor volta para a origem.
+        return particaoOrigem.executar(() -> {
+            particaoOrigem.debitar(id, valor, "Conta de origem não encontrada.", "Saldo insuficiente para realizar a transferência.");
+            return valor;
+        }).thenCompose(reservado -> particaoDestino.executar(() -> {
+            particaoDestino.creditar(idDestino, valor, "Conta de destino não encontrada.");
+            return valor;
+        }).exceptionallyCompose(erro -> particaoOrigem.executar(() -> {
+            particaoOrigem.estornar(id, valor);
+            return valor;
+        }).thenCompose(estornado -> CompletableFuture.<Dinheiro>failedFuture(erro)))
+        ).thenCompose(creditado -> registrarTransferencia(id, idDestino, valor));
+    }
+
+    @PreDestroy
+    public void parar() {
+        for (Particao particao : particoes) {
+            particao.executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> registrarTransferencia(Long id, Long idDestino, Dinheiro valor) {
+        LocalDateTime data = LocalDateTime.now();
+
+        return ledgerJournal.registrar(List.of(
+                new Transacao(id, TipoTransacao.TRANSFERENCIA_ENVIO, valor, data),
+                new Transacao(idDestino, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, valor, data)
+        ));
+    }
+
+    private Particao particao(Long id) {
+        return particoes[(int) Math.floorMod(id, (long) particoes.length)];
+    }
+
+    private class Particao {
+        private final ExecutorService executor;
+        private final Map<Long, Dinheiro> saldos = new HashMap<>();
+
+        Particao(int indice) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ledger-particao-" + indice);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        <T> CompletableFuture<T> executar(Supplier<T> operacao) {
+            return CompletableFuture.supplyAsync(() -> {
+                if (!ledgerJournal.isDisponivel()) {
+                    throw new IllegalStateException("Ledger indisponível: falha ao gravar o journal.");
+                }
+
+                return operacao.get();
+            }, executor);
+        }
+
+        Dinheiro carregar(Long id, String mensagemNaoEncontrada) {
+            Dinheiro saldo = saldos.get(id);
+
+            if (saldo == null) {
+                saldo = contaRepository.findSaldoById(id).orElseThrow(() -> new EntityNotFoundException(mensagemNaoEncontrada));
+                saldos.put(id, saldo);
+            }
+
+            return saldo;
+        }
+
+        void creditar(Long id, Dinheiro valor, String mensagemNaoEncontrada) {
+            saldos.put(id, carregar(id, mensagemNaoEncontrada).somar(valor));
+        }
+
+        void debitar(Long id, Dinheiro valor, String mensagemNaoEncontrada, String mensagemSaldoInsuficiente) {
+            Dinheiro saldo = carregar(id, mensagemNaoEncontrada);
+
+            if (valor.isMaiorQue(saldo)) {
+                throw new IllegalArgumentException(mensagemSaldoInsuficiente);
+            }
+
+            saldos.put(id, saldo.subtrair(valor));
+        }
+
+        void estornar(Long id, Dinheiro valor) {
+            saldos.merge(id, valor, Dinheiro::somar);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "banco.contas.modo-concorrencia", havingValue = "LEDGER")
+public class LedgerJournal {
+    private final ContaRepository contaRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoMaximoLote;
+    private final BlockingQueue<Registro> fila = new LinkedBlockingQueue<>();
+    private final Thread escritor;
+
+    private volatile boolean ativo = true;
+    private volatile boolean disponivel = true;
+
+    public LedgerJournal(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${banco.ledger.journal.tamanho-maximo-lote:1000}") int tamanhoMaximoLote) {
+        this.contaRepository = contaRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.escritor = new Thread(this::escrever, "ledger-journal");
+        this.escritor.start();
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    public CompletableFuture<Void> registrar(List<Transacao> lancamentos) {
+        if (!disponivel || !ativo) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Ledger indisponível: falha ao gravar o journal."));
+        }
+
+        Registro registro = new Registro(lancamentos, new CompletableFuture<>());
+        fila.add(registro);
+
+        return registro.confirmacao();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void escrever() {
+        List<Registro> lote = new ArrayList<>(tamanhoMaximoLote);
+
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Registro primeiro = fila.poll(50, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoMaximoLote - 1);
+                gravar(lote);
+                lote.forEach(registro -> registro.confirmacao().complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Falha ao gravar deixa a memória à frente do banco: o ledger para de aceitar
+                // operações até ser reiniciado e recarregar os saldos do banco.
+                disponivel = false;
+                lote.forEach(registro -> registro.confirmacao().completeExceptionally(e));
+            }
+
+            lote.clear();
+        }
+    }
+
+    private void gravar(List<Registro> lote) {
+        if (!disponivel) {
+            throw new IllegalStateException("Ledger indisponível: falha ao gravar o journal.");
+        }
+
+        SortedMap<Long, Dinheiro> deltas = new TreeMap<>();
+        List<Transacao> transacoes = new ArrayList<>();
+        for (Registro registro : lote) {
+            for (Transacao transacao : registro.lancamentos()) {
+                Dinheiro delta = transacao.getTipo() == TipoTransacao.TRANSFERENCIA_ENVIO
+                        ? transacao.getValor().negar()
+                        : transacao.getValor();
+
+                deltas.merge(transacao.getContaId(), delta, Dinheiro::somar);
+                transacoes.add(transacao);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            contaRepository.aplicarDeltasSaldo(deltas);
+            transacaoRepository.inserirEmLote(transacoes);
+        });
+    }
+
+    private record Registro(List<Transacao> lancamentos, CompletableFuture<Void> confirmacao) {
+    }
+}
@@ -0,0 +1,8 @@
+package Santander.Coders.Banco.service;
+
+public enum ModoConcorrencia {
+    PESSIMISTA,
+    OTIMISTA,
+    ATOMICO,
+    LEDGER
+}
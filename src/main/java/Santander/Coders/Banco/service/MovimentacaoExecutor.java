@@ -0,0 +1,84 @@
+package Santander.Coders.Banco.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class MovimentacaoExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final CommitEmGrupo commitEmGrupo;
+    private final Counter conflitosRetentados;
+    private final Counter conflitosEsgotados;
+
+    @Value("${banco.contas.retry.max-tentativas:5}")
+    private int maxTentativas = 5;
+
+    @Value("${banco.contas.retry.backoff-inicial-ms:10}")
+    private long backoffInicialMs = 10;
+
+    @Value("${banco.contas.retry.backoff-maximo-ms:200}")
+    private long backoffMaximoMs = 200;
+
+    public MovimentacaoExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                ObjectProvider<CommitEmGrupo> commitEmGrupo) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.commitEmGrupo = commitEmGrupo.getIfAvailable();
+        this.conflitosRetentados = Counter.builder("banco.contas.conflitos")
+                .description("Conflitos de concorrência em movimentações de conta")
+                .tag("desfecho", "retentado")
+                .register(meterRegistry);
+        this.conflitosEsgotados = Counter.builder("banco.contas.conflitos")
+                .description("Conflitos de concorrência em movimentações de conta")
+                .tag("desfecho", "esgotado")
+                .register(meterRegistry);
+    }
+
+    public void executar(Runnable operacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            operacao.run();
+            return;
+        }
+
+        // Fora de uma transação, a movimentação vai para o commit em grupo; só volta para a transação própria
+        // abaixo quando o lote não a efetivou.
+        if (commitEmGrupo != null && commitEmGrupo.executar(operacao)) {
+            return;
+        }
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> operacao.run());
+                return;
+            } catch (ConcurrencyFailureException e) {
+                if (tentativa >= maxTentativas) {
+                    conflitosEsgotados.increment();
+                    throw e;
+                }
+
+                conflitosRetentados.increment();
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    private void aguardar(int tentativa) {
+        long teto = Math.min(backoffMaximoMs, backoffInicialMs << Math.min(tentativa - 1, 20));
+        long espera = ThreadLocalRandom.current().nextLong(teto / 2, teto + 1);
+
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Movimentação interrompida durante nova tentativa.", e);
+        }
+    }
+}
@@ -1,50 +1,129 @@
 package Santander.Coders.Banco.service;
 
+import Santander.Coders.Banco.config.Roteamento;
 import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.mapper.PessoaMapper;
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
 import Santander.Coders.Banco.model.request.PessoaPutDto;
+import Santander.Coders.Banco.model.response.CursorResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
 import Santander.Coders.Banco.repository.PessoaRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PessoaService {
-    private PessoaRepository pessoaRepository;
-    private PessoaMapper pessoaMapper;
+    private static final int LIMITE_MAXIMO_LISTAGEM = 500;
 
+    private final PessoaRepository pessoaRepository;
+    private final PessoaMapper pessoaMapper;
+    private final CacheRespostas cacheRespostas;
+
+    @SomenteLeitura
     public Page<PessoaResponseDto> findAll(Pageable pageable) {
-        Page<Pessoa> pessoas = pessoaRepository.findAllAndInativedFalse(pageable);
+        Slice<PessoaResponseDto> pessoas = pessoaRepository.findAllResponseDtoAndInativedFalse(pageable);
 
-        return pessoas.isEmpty() ? Page.empty() : pessoas.map(pessoaMapper::toResponseDto);
+        // O total só é consultado quando não dá para deduzi-lo pela própria página, e fica em cache por alguns segundos.
+        return pessoas.isEmpty() ? Page.empty() : PageableExecutionUtils.getPage(pessoas.getContent(), pageable,
+                () -> cacheRespostas.contarPessoas(pessoaRepository::countByInativedFalse));
     }
 
+    @SomenteLeitura
+    public CursorResponseDto<PessoaResponseDto> listar(String cursor, int limite, String fields) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_LISTAGEM) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_LISTAGEM + ".");
+        }
 
-    public PessoaResponseDto findById(Long id) {
-        Pessoa pessoa = pessoaRepository.findByIdAndInativedFalse(id)
+        if (fields == null || fields.isBlank()) {
+            Slice<PessoaResponseDto> pessoas = pessoaRepository.findAllResponseDtoAndInativedFalseAndIdGreaterThan(
+                    Cursores.lerId(cursor), PageRequest.ofSize(limite));
+            List<PessoaResponseDto> itens = pessoas.getContent();
+
+            return new CursorResponseDto<>(itens, pessoas.hasNext() ? Cursores.criar(itens.get(itens.size() - 1).id()) : null);
+        }
+
+        Set<String> campos = Campos.ler(fields, PessoaResponseDto.CAMPOS);
+        List<PessoaResponseDto> itens = pessoaRepository.buscarCamposAposId(Cursores.lerId(cursor), limite + 1, campos);
+        String proximoCursor = null;
+        if (itens.size() > limite) {
+            itens = itens.subList(0, limite);
+            proximoCursor = Cursores.criar(itens.get(limite - 1).id());
+        }
+
+        return new CursorResponseDto<>(itens.stream().map(item -> Campos.recortar(item, campos)).toList(), proximoCursor);
+    }
+
+    @SomenteLeitura
+    public PessoaResponseDto findById(Long id, String fields) {
+        return findVersionadoById(id, fields).corpo();
+    }
+
+    // Como em ContaService.findVersionadoById: o corpo e a versão vêm da mesma leitura.
+    @SomenteLeitura
+    public Versionado<PessoaResponseDto> findVersionadoById(Long id, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return buscarVersionado(id);
+        }
+
+        // Uma resposta completa em cache atende qualquer recorte; sem ela, a consulta lê só as colunas pedidas.
+        Set<String> campos = Campos.ler(fields, PessoaResponseDto.CAMPOS);
+        Versionado<PessoaResponseDto> pessoa = cacheRespostas.pessoaEmCache(id)
+                .or(() -> pessoaRepository.buscarCampos(id, campos))
                 .orElseThrow(() -> new EntityNotFoundException("Pessoa não encontrada"));
+        Versao versao = campos.contains("conta") ? pessoa.versao() : new Versao(null, pessoa.versao().atualizadoEm());
+
+        return new Versionado<>(Campos.recortar(pessoa.corpo(), campos), versao.comCampos(campos));
+    }
+
+    @SomenteLeitura
+    public List<ResultadoPorIdResponseDto<PessoaResponseDto>> findAllById(List<Long> ids) {
+        return BuscaPorIds.buscar(ids, id -> cacheRespostas.pessoaEmCache(id).map(Versionado::corpo),
+                pessoaRepository::findAllResponseDtoByIdInAndInativedFalse, PessoaResponseDto::id);
+    }
 
-        return pessoaMapper.toResponseDto(pessoa);
+    @SomenteLeitura
+    public PessoaResponseDto findById(Long id) {
+        return buscarVersionado(id).corpo();
+    }
+
+    private Versionado<PessoaResponseDto> buscarVersionado(Long id) {
+        // Como em ContaService: a carga do cache vem do primário.
+        return cacheRespostas.buscarPessoa(id, () -> Roteamento.noPrimario(() -> pessoaRepository.buscarVersionado(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pessoa não encontrada"))));
     }
 
     public PessoaResponseDto save(PessoaPostDto pessoaPostDto) {
-        Pessoa pessoa = pessoaMapper.postDtoToEntity(pessoaPostDto);
+        Pessoa pessoa = pessoaMapper.postDtoToEntity(Objects.requireNonNull(pessoaPostDto));
 
-        if (pessoaRepository.existsByCpf(pessoa.getCpf())) {
-            throw new EntityNotFoundException("Pessoa já cadastrada!");
-        }
+        try {
+            PessoaResponseDto response = pessoaMapper.toResponseDto(pessoaRepository.saveAndFlush(pessoa));
+            cacheRespostas.invalidarTotais();
+
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            if (Restricoes.violou(e, "uk_pessoas_cpf")) {
+                throw new EntityNotFoundException("Pessoa já cadastrada!");
+            }
 
-        return pessoaMapper.toResponseDto(pessoaRepository.save(pessoa));
+            throw e;
+        }
     }
 
     public void update(Long id, PessoaPutDto pessoaPutDto) {
@@ -52,6 +131,7 @@ public class PessoaService {
 
         pessoa.update(pessoaMapper.putDtoToEntity(pessoaPutDto));
         pessoaRepository.save(pessoa);
+        cacheRespostas.invalidarPessoa(id);
     }
 
     public void delete(Long id) {
@@ -59,5 +139,7 @@ public class PessoaService {
 
         pessoa.delete();
         pessoaRepository.save(pessoa);
+        cacheRespostas.invalidarPessoa(id);
+        cacheRespostas.invalidarTotais();
     }
 }
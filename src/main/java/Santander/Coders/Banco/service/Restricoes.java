@@ -0,0 +1,16 @@
+package Santander.Coders.Banco.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+final class Restricoes {
+    private Restricoes() {
+    }
+
+    // O H2 devolve o nome da restrição junto com o índice e os valores, então a comparação é por conteúdo.
+    static boolean violou(DataIntegrityViolationException e, String restricao) {
+        return e.getCause() instanceof ConstraintViolationException violacao
+                && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase().contains(restricao);
+    }
+}
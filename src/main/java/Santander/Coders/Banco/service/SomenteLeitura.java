@@ -0,0 +1,16 @@
+package Santander.Coders.Banco.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Transação somente leitura do Spring (a jakarta.transaction.Transactional das classes não tem readOnly).
+// Com réplica configurada, é o que manda a consulta para ela (ver config.ReplicaConfig).
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+@interface SomenteLeitura {
+}
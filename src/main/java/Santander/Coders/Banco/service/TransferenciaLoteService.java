@@ -0,0 +1,170 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.ModoLote;
+import Santander.Coders.Banco.model.StatusTransferencia;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.request.TransferenciaLoteItemDto;
+import Santander.Coders.Banco.model.request.TransferenciaLotePostDto;
+import Santander.Coders.Banco.model.response.TransferenciaLoteItemResponseDto;
+import Santander.Coders.Banco.model.response.TransferenciaLoteResponseDto;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TransferenciaLoteService {
+    private final ContaRepository contaRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final MovimentacaoExecutor movimentacaoExecutor;
+    private final EntityManager entityManager;
+    private final CacheRespostas cacheRespostas;
+
+    @Value("${banco.contas.lote.tamanho-chunk:500}")
+    private int tamanhoChunk = 500;
+
+    @Value("${banco.contas.modo-concorrencia:PESSIMISTA}")
+    private ModoConcorrencia modoConcorrencia = ModoConcorrencia.PESSIMISTA;
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public TransferenciaLoteResponseDto transferir(TransferenciaLotePostDto transferenciaLotePostDto) {
+        if (modoConcorrencia == ModoConcorrencia.LEDGER) {
+            throw new IllegalStateException("Transferência em lote indisponível no modo LEDGER.");
+        }
+
+        List<TransferenciaLoteItemDto> itens = transferenciaLotePostDto.itens();
+        TransferenciaLoteItemResponseDto[] resultados = new TransferenciaLoteItemResponseDto[itens.size()];
+
+        if (transferenciaLotePostDto.modo() == ModoLote.TUDO_OU_NADA) {
+            try {
+                movimentacaoExecutor.executar(() -> aplicar(itens, 0, itens.size(), resultados, true));
+            } catch (LoteRejeitadoException e) {
+                desfazer(itens, resultados, e.getIndice());
+            }
+        } else {
+            for (int inicio = 0; inicio < itens.size(); inicio += tamanhoChunk) {
+                int inicioChunk = inicio;
+                int fimChunk = Math.min(inicio + tamanhoChunk, itens.size());
+
+                try {
+                    movimentacaoExecutor.executar(() -> aplicar(itens, inicioChunk, fimChunk, resultados, false));
+                } catch (RuntimeException e) {
+                    // Os chunks anteriores já foram efetivados: a falha só desfaz este, e os seguintes continuam.
+                    naoEfetivar(itens, resultados, inicioChunk, fimChunk, e.getMessage());
+                }
+            }
+        }
+
+        List<TransferenciaLoteItemResponseDto> respostas = Arrays.asList(resultados);
+        long efetivadas = respostas.stream().filter(r -> r.status() == StatusTransferencia.EFETIVADA).count();
+        long rejeitadas = respostas.stream().filter(r -> r.status() == StatusTransferencia.REJEITADA).count();
+
+        return new TransferenciaLoteResponseDto(transferenciaLotePostDto.modo(), efetivadas, rejeitadas, respostas);
+    }
+
+    private void aplicar(List<TransferenciaLoteItemDto> itens, int inicio, int fim,
+                         TransferenciaLoteItemResponseDto[] resultados, boolean abortarNaRejeicao) {
+        Map<Long, Conta> contas = bloquear(itens.subList(inicio, fim));
+        cacheRespostas.invalidarContas(List.copyOf(contas.keySet()));
+        List<Transacao> transacoes = new ArrayList<>();
+        LocalDateTime data = LocalDateTime.now();
+
+        for (int i = inicio; i < fim; i++) {
+            resultados[i] = aplicar(i, itens.get(i), contas, transacoes, data);
+
+            if (abortarNaRejeicao && resultados[i].status() == StatusTransferencia.REJEITADA) {
+                throw new LoteRejeitadoException(i);
+            }
+        }
+
+        transacaoRepository.inserirEmLote(transacoes);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private TransferenciaLoteItemResponseDto aplicar(int indice, TransferenciaLoteItemDto item, Map<Long, Conta> contas,
+                                                     List<Transacao> transacoes, LocalDateTime data) {
+        try {
+            if (item.origem().equals(item.destino())) {
+                throw new IllegalArgumentException("Conta de destino deve ser diferente da conta de origem.");
+            }
+
+            Conta contaOrigem = Optional.ofNullable(contas.get(item.origem()))
+                    .orElseThrow(() -> new EntityNotFoundException("Conta de origem não encontrada."));
+            Conta contaDestino = Optional.ofNullable(contas.get(item.destino()))
+                    .orElseThrow(() -> new EntityNotFoundException("Conta de destino não encontrada."));
+
+            contaOrigem.transferir(contaDestino, item.valor());
+
+            transacoes.add(new Transacao(contaOrigem.getId(), TipoTransacao.TRANSFERENCIA_ENVIO, item.valor(), data));
+            transacoes.add(new Transacao(contaDestino.getId(), TipoTransacao.TRANSFERENCIA_RECEBIMENTO, item.valor(), data));
+
+            return resultado(indice, item, StatusTransferencia.EFETIVADA, null);
+        } catch (IllegalArgumentException | EntityNotFoundException e) {
+            return resultado(indice, item, StatusTransferencia.REJEITADA, e.getMessage());
+        }
+    }
+
+    private Map<Long, Conta> bloquear(List<TransferenciaLoteItemDto> itens) {
+        // Bloqueia todas as contas envolvidas em ordem crescente de id, mesmo quando a consulta
+        // precisa ser quebrada em vários IN, para manter a ordem global de locks.
+        List<Long> ids = itens.stream()
+                .flatMap(item -> Stream.of(item.origem(), item.destino()))
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<Long, Conta> contas = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoChunk) {
+            List<Long> chunk = ids.subList(inicio, Math.min(inicio + tamanhoChunk, ids.size()));
+
+            contaRepository.findAllByIdInForUpdate(chunk).forEach(conta -> contas.put(conta.getId(), conta));
+        }
+
+        return contas;
+    }
+
+    private void desfazer(List<TransferenciaLoteItemDto> itens, TransferenciaLoteItemResponseDto[] resultados, int indiceRejeitado) {
+        for (int i = 0; i < itens.size(); i++) {
+            if (i != indiceRejeitado) {
+                resultados[i] = resultado(i, itens.get(i), StatusTransferencia.NAO_EFETIVADA, null);
+            }
+        }
+    }
+
+    private void naoEfetivar(List<TransferenciaLoteItemDto> itens, TransferenciaLoteItemResponseDto[] resultados,
+                             int inicio, int fim, String mensagem) {
+        for (int i = inicio; i < fim; i++) {
+            resultados[i] = resultado(i, itens.get(i), StatusTransferencia.NAO_EFETIVADA, mensagem);
+        }
+    }
+
+    private TransferenciaLoteItemResponseDto resultado(int indice, TransferenciaLoteItemDto item,
+                                                       StatusTransferencia status, String mensagem) {
+        return new TransferenciaLoteItemResponseDto(indice, item.origem(), item.destino(), item.valor(), status, mensagem);
+    }
+
+    private static class LoteRejeitadoException extends RuntimeException {
+        private final int indice;
+
+        LoteRejeitadoException(int indice) {
+            super("Lote de transferências rejeitado no item " + indice + ".");
+            this.indice = indice;
+        }
+
+        int getIndice() {
+            return indice;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+/**
+ * Índices para as listagens de contas não canceladas e pessoas ativas. No PostgreSQL são índices parciais, que só
+ * guardam as linhas ativas; o H2 não suporta índice com WHERE, então lá o filtro entra como primeira coluna.
+ */
+public class V11__Create_active_indexes extends BaseJavaMigration {
+    @Override
+    public void migrate(Context context) throws Exception {
+        boolean postgres = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName());
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            if (postgres) {
+                statement.execute("CREATE INDEX idx_contas_ativas ON contas (id) WHERE canceled = false");
+                statement.execute("CREATE INDEX idx_pessoas_ativas ON pessoas (id) WHERE inatived = false");
+            } else {
+                statement.execute("CREATE INDEX idx_contas_ativas ON contas (canceled, id)");
+                statement.execute("CREATE INDEX idx_pessoas_ativas ON pessoas (inatived, id)");
+            }
+        }
+    }
+}
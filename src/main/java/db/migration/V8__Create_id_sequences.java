@@ -0,0 +1,77 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Cria uma sequência com incremento 50 para pessoas, contas e transacoes, usada pelo otimizador pooled do Hibernate
+ * e como default das colunas id. É uma migração Java porque o ponto de partida de cada sequência depende dos ids já
+ * existentes e contas.id precisa de ajustes diferentes conforme o banco (SERIAL no PostgreSQL, identity no H2). No H2
+ * as sequências já nascem BIGINT e o default usa NEXT VALUE FOR, que vale em qualquer modo de compatibilidade.
+ */
+public class V8__Create_id_sequences extends BaseJavaMigration {
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName());
+
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("ALTER TABLE contas ALTER COLUMN id SET DATA TYPE BIGINT");
+
+            for (String tabela : List.of("pessoas", "contas", "transacoes")) {
+                criarSequencia(conexao, statement, tabela, postgres);
+            }
+        }
+    }
+
+    private void criarSequencia(Connection conexao, Statement statement, String tabela, boolean postgres) throws SQLException {
+        String sequencia = tabela + "_id_seq";
+
+        // O H2 guarda os nomes em maiúsculas, a menos que DATABASE_TO_LOWER esteja ligado.
+        if (consultar(conexao, "SELECT is_identity FROM information_schema.columns " +
+                "WHERE LOWER(table_schema) = LOWER(?) AND LOWER(table_name) = ? AND LOWER(column_name) = 'id'", tabela)
+                .equalsIgnoreCase("YES")) {
+            statement.execute("ALTER TABLE " + tabela + " ALTER COLUMN id DROP IDENTITY");
+        }
+
+        statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequencia);
+
+        // A sequência do SERIAL é INTEGER no PostgreSQL.
+        if (postgres && !consultar(conexao, "SELECT data_type FROM information_schema.sequences " +
+                "WHERE sequence_schema = ? AND sequence_name = ?", sequencia).equalsIgnoreCase("BIGINT")) {
+            statement.execute("ALTER SEQUENCE " + sequencia + " AS BIGINT");
+        }
+
+        // O otimizador pooled usa o intervalo (valor - 49 .. valor) a cada nextval, então o primeiro valor precisa
+        // ficar um incremento inteiro acima do maior id já gravado.
+        long maiorId;
+        try (ResultSet resultado = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)) {
+            resultado.next();
+            maiorId = resultado.getLong(1);
+        }
+
+        statement.execute("ALTER SEQUENCE " + sequencia + " INCREMENT BY " + INCREMENTO + " RESTART WITH " + (maiorId + INCREMENTO));
+        statement.execute("ALTER TABLE " + tabela + " ALTER COLUMN id SET DEFAULT " +
+                (postgres ? "nextval('" + sequencia + "')" : "NEXT VALUE FOR " + sequencia));
+    }
+
+    private String consultar(Connection conexao, String sql, String nome) throws SQLException {
+        try (PreparedStatement statement = conexao.prepareStatement(sql)) {
+            statement.setString(1, conexao.getSchema());
+            statement.setString(2, nome);
+
+            try (ResultSet resultado = statement.executeQuery()) {
+                return resultado.next() ? resultado.getString(1) : "";
+            }
+        }
+    }
+}
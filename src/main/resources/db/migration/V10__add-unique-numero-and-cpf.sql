@@ -0,0 +1,3 @@
+ALTER TABLE contas ADD CONSTRAINT uk_contas_numero UNIQUE (numero);
+
+ALTER TABLE pessoas ADD CONSTRAINT uk_pessoas_cpf UNIQUE (cpf);
@@ -0,0 +1,32 @@
+CREATE TABLE saldo_diario (
+    conta_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    saldo_inicial DECIMAL(19,2) NOT NULL,
+    creditos DECIMAL(19,2) NOT NULL,
+    debitos DECIMAL(19,2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+
+    PRIMARY KEY(conta_id, dia)
+);
+
+-- Carga inicial a partir do histórico: o saldo de abertura de cada dia é o saldo atual menos o líquido
+-- movimentado daquele dia em diante.
+INSERT INTO saldo_diario (conta_id, dia, saldo_inicial, creditos, debitos, quantidade)
+SELECT d.conta_id, d.dia,
+       c.saldo - SUM(d.creditos - d.debitos) OVER (PARTITION BY d.conta_id ORDER BY d.dia DESC),
+       d.creditos, d.debitos, d.quantidade
+FROM (
+    SELECT conta_id, CAST(data AS DATE) AS dia,
+           SUM(CASE WHEN tipo_transacao = 'TRANSFERENCIA_RECEBIMENTO' THEN valor ELSE 0 END) AS creditos,
+           SUM(CASE WHEN tipo_transacao = 'TRANSFERENCIA_ENVIO' THEN valor ELSE 0 END) AS debitos,
+           COUNT(*) AS quantidade
+    FROM transacoes
+    GROUP BY conta_id, CAST(data AS DATE)
+) d
+JOIN contas c ON c.id = d.conta_id;
+
+-- Contas sem movimentação ganham uma linha de referência com o saldo atual, de onde os próximos dias partem.
+INSERT INTO saldo_diario (conta_id, dia, saldo_inicial, creditos, debitos, quantidade)
+SELECT c.id, CURRENT_DATE, c.saldo, 0, 0, 0
+FROM contas c
+WHERE NOT EXISTS (SELECT 1 FROM saldo_diario s WHERE s.conta_id = c.id);
@@ -0,0 +1 @@
+ALTER TABLE contas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+CREATE SEQUENCE transacoes_id_seq;
+
+ALTER TABLE transacoes ALTER COLUMN id SET DEFAULT nextval('transacoes_id_seq');
@@ -0,0 +1 @@
+ALTER TABLE contas RENAME COLUMN deleted_at TO canceled_at;
@@ -0,0 +1,7 @@
+CREATE TABLE creditos_lote (
+    lote VARCHAR(36) NOT NULL,
+    conta_id BIGINT NOT NULL,
+    valor DECIMAL(19,2) NOT NULL
+);
+
+CREATE INDEX idx_creditos_lote_lote_conta ON creditos_lote (lote, conta_id);
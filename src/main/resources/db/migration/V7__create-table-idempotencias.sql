@@ -0,0 +1,10 @@
+CREATE TABLE idempotencias (
+    chave VARCHAR(255) NOT NULL,
+    requisicao VARCHAR(255) NOT NULL,
+    sucesso boolean not null,
+    erro_tipo VARCHAR(50),
+    erro_mensagem VARCHAR(500),
+    created_at timestamp(6) not null,
+
+    PRIMARY KEY(chave)
+);
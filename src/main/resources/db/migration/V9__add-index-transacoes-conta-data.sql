@@ -0,0 +1 @@
+CREATE INDEX idx_transacoes_conta_data_id ON transacoes (conta_id, data, id);
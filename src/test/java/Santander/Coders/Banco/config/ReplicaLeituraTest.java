@@ -0,0 +1,113 @@
+package Santander.Coders.Banco.config;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.builder.PessoaBuilder;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import Santander.Coders.Banco.repository.PessoaRepository;
+import Santander.Coders.Banco.service.PessoaService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Duas bases H2 fazem o papel de primário e réplica; a réplica recebe só o schema, nunca os dados.
+@SpringBootTest(properties = {
+        "banco.datasource.replica.url=jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "banco.datasource.replica.username=sa",
+        "banco.datasource.replica.password=",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "banco.datasource.replica.hikari.maximum-pool-size=3"
+})
+@AutoConfigureMockMvc
+class ReplicaLeituraTest {
+    @Autowired
+    @Qualifier("dataSourcePrimario")
+    private HikariDataSource primario;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private HikariDataSource replica;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replica).load().migrate();
+        id = pessoaRepository.saveAndFlush(new PessoaBuilder().nome("Pessoa Primario").cpf("88800000001")
+                .endereco("Rua").telefone("11999999999").build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pessoaRepository.deleteById(id);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void transacaoSomenteLeitura_ShouldReadFromReplica() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+
+        Optional<PessoaResponseDto> naReplica = leitura.execute(s -> pessoaRepository.buscarVersionado(id).map(Versionado::corpo));
+        Optional<PessoaResponseDto> noPrimario = new TransactionTemplate(transactionManager)
+                .execute(s -> pessoaRepository.buscarVersionado(id).map(Versionado::corpo));
+
+        assertTrue(naReplica.isEmpty());
+        assertTrue(noPrimario.isPresent());
+        assertThrows(EntityNotFoundException.class, () -> pessoaService.findById(id, "nome"));
+        // A carga do cache de respostas sempre lê o primário.
+        assertEquals("Pessoa Primario", pessoaService.findById(id).nome());
+    }
+
+    @Test
+    @DisplayName("Should size each pool from its own hikari properties")
+    void pools_ShouldBindHikariProperties() {
+        assertEquals(7, primario.getMaximumPoolSize());
+        assertEquals(3, replica.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Should keep a client's reads on the primary right after its own write")
+    void leituraAposEscrita_ShouldReadFromPrimary() throws Exception {
+        mvc.perform(post("/api/v1/pessoas").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(cookie().exists(LeituraAposEscritaFilter.COOKIE));
+
+        mvc.perform(get("/api/v1/pessoas/{id}", id).param("fields", "nome")
+                        .cookie(new Cookie(LeituraAposEscritaFilter.COOKIE, Long.toString(System.currentTimeMillis()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Pessoa Primario"));
+    }
+}
@@ -3,17 +3,31 @@ package Santander.Coders.Banco.controller;
 import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.mapper.ContaMapper;
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.FormatoExportacao;
+import Santander.Coders.Banco.model.ModoLote;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
 import Santander.Coders.Banco.model.request.ContaPostDto;
 import Santander.Coders.Banco.model.request.ContaPutDto;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.CreditoLoteResponseDto;
+import Santander.Coders.Banco.model.response.CursorResponseDto;
+import Santander.Coders.Banco.model.response.ExtratoResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
+import Santander.Coders.Banco.model.response.ResumoResponseDto;
+import Santander.Coders.Banco.model.response.TransferenciaLoteResponseDto;
 import Santander.Coders.Banco.repository.ContaRepository;
 import Santander.Coders.Banco.repository.TransacaoRepository;
 import Santander.Coders.Banco.service.ContaService;
+import Santander.Coders.Banco.service.ExportacaoTransacoesService;
+import Santander.Coders.Banco.service.TransferenciaLoteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.Null;
 import org.junit.jupiter.api.DisplayName;
@@ -24,21 +38,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -53,6 +77,12 @@ class ContaControllerTest {
     @MockBean
     private ContaRepository contaRepository;
 
+    @MockBean
+    private TransferenciaLoteService transferenciaLoteService;
+
+    @MockBean
+    private ExportacaoTransacoesService exportacaoTransacoesService;
+
     @Test
     @DisplayName("Returns a list of accounts")
     void findAll_ShouldReturnListOfAccounts() throws Exception {
@@ -80,11 +110,139 @@ class ContaControllerTest {
     @DisplayName("Returns a account by id")
     void findById_ShouldReturnAccountById() throws Exception {
         Long id = 1L;
+        when(service.findVersionadoById(id, null)).thenReturn(versionado(createContaResponseDto(), 0L));
 
         mvc.perform(get("/api/v1/contas/" + id))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Returns the account statement page with the given filters")
+    void extrato_ShouldPassFiltersToService() throws Exception {
+        when(service.extrato(any(), any(), any(), any(), any(), anyInt())).thenReturn(new ExtratoResponseDto(List.of(), null));
+
+        mvc.perform(get("/api/v1/contas/{id}/transacoes", 1L)
+                        .param("inicio", "2024-01-01T00:00:00")
+                        .param("fim", "2024-02-01T00:00:00")
+                        .param("tipo", "TRANSFERENCIA_ENVIO")
+                        .param("cursor", "abc")
+                        .param("limite", "20"))
+                .andExpect(status().isOk());
+
+        verify(service).extrato(1L, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0),
+                TipoTransacao.TRANSFERENCIA_ENVIO, "abc", 20);
+    }
+
+    @Test
+    @DisplayName("Should scroll contas by cursor")
+    void listar_ShouldPassCursorToService() throws Exception {
+        when(service.listar("abc", 20, null)).thenReturn(new CursorResponseDto<>(List.of(), null));
+
+        mvc.perform(get("/api/v1/contas/rolagem").param("cursor", "abc").param("limite", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").isEmpty());
+
+        verify(service).listar("abc", 20, null);
+    }
+
+    @Test
+    @DisplayName("Should resolve several accounts by id in one request")
+    void findAllById_ShouldPassIdsToService() throws Exception {
+        when(service.findAllById(List.of(2L, 1L))).thenReturn(List.of(
+                new ResultadoPorIdResponseDto<>(2L, false, null),
+                new ResultadoPorIdResponseDto<>(1L, true, new ContaResponseDto(1L, 1L, 10L, null, Dinheiro.ZERO, null))));
+
+        mvc.perform(get("/api/v1/contas").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].encontrado").value(false))
+                .andExpect(jsonPath("$[1].item.numero").value(10));
+    }
+
+    @Test
+    @DisplayName("Should tag the account with an ETag of its version and answer a matching If-None-Match with 304")
+    void findById_ShouldAnswerNotModifiedForCurrentEtag() throws Exception {
+        when(service.findVersionadoById(1L, null)).thenReturn(
+                versionado(new ContaResponseDto(1L, 1L, 10L, null, Dinheiro.ZERO, null), 3L),
+                versionado(new ContaResponseDto(1L, 1L, 10L, null, Dinheiro.ZERO, null), 3L),
+                versionado(new ContaResponseDto(1L, 1L, 10L, null, Dinheiro.valueOf("5"), null), 4L));
+
+        String etag = mvc.perform(get("/api/v1/contas/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.numero").value(10))
+                .andReturn().getResponse().getHeader("ETag");
+        mvc.perform(get("/api/v1/contas/{id}", 1L).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        String novoEtag = mvc.perform(get("/api/v1/contas/{id}", 1L).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldo").value(5.0))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertEquals("\"1-3\"", etag);
+        assertEquals("\"1-4\"", novoEtag);
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields of the account")
+    void findById_ShouldReturnOnlyRequestedFields() throws Exception {
+        when(service.findVersionadoById(1L, "id,saldo"))
+                .thenReturn(versionado(new ContaResponseDto(1L, null, null, null, Dinheiro.valueOf("10"), null), 0L));
+
+        mvc.perform(get("/api/v1/contas/{id}", 1L).param("fields", "id,saldo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.saldo").value(10.0))
+                .andExpect(content().json("{\"id\":1,\"saldo\":10.0}", true));
+    }
+
+    @Test
+    @DisplayName("Should keep null fields in the full account response")
+    void findById_ShouldKeepNullFieldsWithoutFields() throws Exception {
+        when(service.findVersionadoById(1L, null)).thenReturn(versionado(new ContaResponseDto(1L, 1L, 10L, null, Dinheiro.ZERO, null), 0L));
+
+        mvc.perform(get("/api/v1/contas/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":1,\"agencia\":1,\"numero\":10,\"tipo\":null,\"saldo\":0.0,\"titular\":null}", true));
+    }
+
+    @Test
+    @DisplayName("Should return the daily balance summary of the requested period")
+    void resumo_ShouldPassPeriodToService() throws Exception {
+        LocalDate de = LocalDate.of(2024, 1, 1);
+        LocalDate ate = LocalDate.of(2024, 1, 31);
+        when(service.resumo(1L, de, ate)).thenReturn(new ResumoResponseDto(1L, de, ate, Dinheiro.valueOf("10"),
+                Dinheiro.ZERO, Dinheiro.ZERO, Dinheiro.valueOf("10"), 0, List.of()));
+
+        mvc.perform(get("/api/v1/contas/{id}/resumo", 1L).param("de", "2024-01-01").param("ate", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldoFinal").value(10.0))
+                .andExpect(jsonPath("$.dias").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Streams the transaction export as a CSV attachment")
+    void exportarTransacoes_ShouldStreamCsvAttachment() throws Exception {
+        // Transmissão real, sem depender dos repositórios do serviço simulado.
+        ExportacaoTransacoesService transmissor = new ExportacaoTransacoesService(null, null, null, null,
+                mock(PlatformTransactionManager.class), 100, 1, Duration.ofMinutes(1));
+        when(exportacaoTransacoesService.exportar(1L, null, null, FormatoExportacao.CSV))
+                .thenReturn(saida -> saida.write("id;tipo;valor;data\n".getBytes(StandardCharsets.UTF_8)));
+        when(exportacaoTransacoesService.transmitir(any()))
+                .thenAnswer(invocation -> transmissor.transmitir(invocation.getArgument(0)));
+
+        MvcResult resultado = mvc.perform(get("/api/v1/contas/{id}/transacoes/exportacao", 1L).param("formato", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(1).toMillis(), resultado.getRequest().getAsyncContext().getTimeout());
+
+        mvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes-1.csv\""))
+                .andExpect(content().string("id;tipo;valor;data\n"));
+    }
+
     @Test
     @DisplayName("Should return HTTP 201 Created when creating a new account")
     void save_ShouldReturnCreateStatus() throws Exception {
@@ -146,7 +304,20 @@ class ContaControllerTest {
                         .param("valor", "100.0"))
                 .andExpect(status().isNoContent());
 
-        verify(service).depositar(eq(1L), eq(100.0));
+        verify(service).depositar(eq(1L), eq(Dinheiro.valueOf("100.0")));
+    }
+
+    @Test
+    @DisplayName("Depositar with the same Idempotency-Key should be executed only once")
+    void depositar_WithIdempotencyKey_ShouldExecuteOnce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(put("/api/v1/contas/{id}/depositar", 1L)
+                            .header("Idempotency-Key", "deposito-controller-1")
+                            .param("valor", "100.0"))
+                    .andExpect(status().isNoContent());
+        }
+
+        verify(service, times(1)).depositar(eq(1L), eq(Dinheiro.valueOf("100.0")));
     }
 
     @Test
@@ -156,7 +327,7 @@ class ContaControllerTest {
                         .param("valor", "50.0"))
                 .andExpect(status().isNoContent());
 
-        verify(service).sacar(eq(1L), eq(50.0));
+        verify(service).sacar(eq(1L), eq(Dinheiro.valueOf("50.0")));
     }
 
     @Test
@@ -167,7 +338,46 @@ class ContaControllerTest {
                         .param("idDestino", "2"))
                 .andExpect(status().isNoContent());
 
-        verify(service).transferir(eq(1L), eq(2L), eq(50.0));
+        verify(service).transferir(eq(1L), eq(2L), eq(Dinheiro.valueOf("50.0")));
+    }
+
+    @Test
+    @DisplayName("Transferir em lote should return 200 OK with the per-item results")
+    void transferirEmLote_ShouldReturnOk() throws Exception {
+        String body = "{\"modo\":\"MELHOR_ESFORCO\",\"itens\":[{\"origem\":1,\"destino\":2,\"valor\":10.50}]}";
+
+        when(transferenciaLoteService.transferir(any())).thenReturn(new TransferenciaLoteResponseDto(ModoLote.MELHOR_ESFORCO, 1, 0, List.of()));
+
+        mvc.perform(post("/api/v1/contas/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        verify(transferenciaLoteService).transferir(any());
+    }
+
+    @Test
+    @DisplayName("Transferir em lote should return 400 Bad Request without items")
+    void transferirEmLote_ShouldReturnBadRequestWithoutItems() throws Exception {
+        mvc.perform(post("/api/v1/contas/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"modo\":\"TUDO_OU_NADA\",\"itens\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transferenciaLoteService);
+    }
+
+    @Test
+    @DisplayName("Creditar em lote should stream the CSV body to the service")
+    void creditarEmLote_ShouldReturnOk() throws Exception {
+        when(service.creditarEmLote(eq(1L), any())).thenReturn(new CreditoLoteResponseDto(1L, 2, 2, Dinheiro.valueOf("20.00")));
+
+        mvc.perform(post("/api/v1/contas/{id}/creditos/lote", 1L)
+                        .contentType("text/csv")
+                        .content("2;10.00\n3;10.00\n"))
+                .andExpect(status().isOk());
+
+        verify(service).creditarEmLote(eq(1L), any());
     }
 
     private Conta createConta(){
@@ -190,7 +400,7 @@ class ContaControllerTest {
                 .agencia(1234L)
                 .numero(123456L)
                 .tipo(TipoConta.CORRENTE)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(createPessoaResponseDto())
                 .buildResponseDto();
     }
@@ -250,7 +460,11 @@ class ContaControllerTest {
                 .cpf("12345678911")
                 .endereco("Rua 1")
                 .telefone("123456789")
-                .contaResponseDto(new ContaResponseDto(1L, 1234L, 123456L, TipoConta.CORRENTE, new BigDecimal(1000.00), new PessoaResponseDto(1L, "Alice", "12345678911", "Rua 1", "123456789", null)))
+                .contaResponseDto(new ContaResponseDto(1L, 1234L, 123456L, TipoConta.CORRENTE, Dinheiro.valueOf("1000.00"), new PessoaResponseDto(1L, "Alice", "12345678911", "Rua 1", "123456789", null)))
                 .buildResponseDto();
     }
-}
\ No newline at end of file
+
+    private Versionado<ContaResponseDto> versionado(ContaResponseDto conta, Long versao) {
+        return new Versionado<>(conta, new Versao(versao, null));
+    }
+}
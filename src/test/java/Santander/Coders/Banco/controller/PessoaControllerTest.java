@@ -2,7 +2,10 @@ package Santander.Coders.Banco.controller;
 
 import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
@@ -24,7 +27,6 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,6 +72,8 @@ class PessoaControllerTest {
     @DisplayName("Returns a people by id")
     void findById_ShouldReturnAccountById() throws Exception {
         Long id = 1L;
+        when(service.findVersionadoById(id, null))
+                .thenReturn(new Versionado<>(new PessoaResponseDto(id, "Alice", "12345678911", "Rua 1", "123456789", null), new Versao(null, null)));
 
         mvc.perform(get("/api/v1/pessoas/" + id))
                 .andExpect(status().isOk());
@@ -205,7 +209,7 @@ class PessoaControllerTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titular(new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .build();
     }
@@ -217,7 +221,7 @@ class PessoaControllerTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(new PessoaResponseDto(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .buildResponseDto();
     }
@@ -1,6 +1,7 @@
 package Santander.Coders.Banco.mapper;
 
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
@@ -10,7 +11,6 @@ import Santander.Coders.Banco.model.response.ContaResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,7 +26,7 @@ class ContaMapperImplTest {
         Pessoa titular = createPessoa();
 
         conta.setTitular(titular);
-        conta.setSaldo(new BigDecimal("1000"));
+        conta.setSaldo(Dinheiro.valueOf("1000"));
 
         ContaResponseDto contaResponseDto = contaMapper.toResponseDto(conta);
 
@@ -45,6 +45,20 @@ class ContaMapperImplTest {
         );
     }
 
+    @Test
+    void toResponseDto_WithLinkedTitular_ShouldStopAtTitularSummary() {
+        Conta conta = createConta();
+        Pessoa titular = createPessoa();
+
+        conta.setTitular(titular);
+        titular.setConta(conta);
+
+        ContaResponseDto contaResponseDto = contaMapper.toResponseDto(conta);
+
+        assertEquals(titular.getId(), contaResponseDto.titular().id());
+        assertNull(contaResponseDto.titular().conta());
+    }
+
     @Test
     void toResponseDto_WithNullDto_ShouldReturnNull() {
         ContaResponseDto result = contaMapper.toResponseDto(null);
@@ -108,7 +122,7 @@ class ContaMapperImplTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(null)
                 .buildResponseDto();
     }
@@ -0,0 +1,66 @@
+package Santander.Coders.Banco.mapper;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.response.CamposParciais;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Custo de mapear e serializar uma conta e uma pessoa ligadas uma à outra. Fica fora da suíte padrão; para rodar use
+ * mvn test -Pbenchmark (-Dbanco.benchmark.iteracoes muda o número de repetições).
+ */
+@Tag("benchmark")
+class MapeamentoBenchmarkTest {
+    private static final int ITERACOES = Integer.getInteger("banco.benchmark.iteracoes", 200_000);
+
+    private final ContaMapper contaMapper = new ContaMapperImpl();
+    private final PessoaMapper pessoaMapper = new PessoaMapperImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper().setFilterProvider(CamposParciais.COMPLETOS);
+
+    @Test
+    @DisplayName("Should map and serialize linked contas and pessoas one level deep")
+    void mapear_ShouldStayOneLevelDeep() throws Exception {
+        Pessoa pessoa = new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", null);
+        Conta conta = new Conta(1L, 1L, 123L, pessoa);
+        conta.setTipo(TipoConta.CORRENTE);
+        conta.setSaldo(Dinheiro.valueOf("10"));
+        pessoa.setConta(conta);
+
+        JsonNode contaJson = objectMapper.readTree(serializar(() -> contaMapper.toResponseDto(conta)));
+        JsonNode pessoaJson = objectMapper.readTree(serializar(() -> pessoaMapper.toResponseDto(pessoa)));
+        assertTrue(contaJson.path("titular").path("conta").isMissingNode() || contaJson.path("titular").path("conta").isNull());
+        assertTrue(pessoaJson.path("conta").path("titular").isMissingNode() || pessoaJson.path("conta").path("titular").isNull());
+
+        for (String fase : new String[]{"aquecimento", "medida"}) {
+            long contaNs = medir(() -> contaMapper.toResponseDto(conta));
+            long pessoaNs = medir(() -> pessoaMapper.toResponseDto(pessoa));
+
+            System.out.printf("%s: conta=%dns/op pessoa=%dns/op payload=%d/%d bytes%n", fase, contaNs, pessoaNs,
+                    serializar(() -> contaMapper.toResponseDto(conta)).length,
+                    serializar(() -> pessoaMapper.toResponseDto(pessoa)).length);
+        }
+    }
+
+    private long medir(Supplier<Object> mapeamento) throws Exception {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            serializar(mapeamento);
+        }
+
+        return (System.nanoTime() - inicio) / ITERACOES;
+    }
+
+    private byte[] serializar(Supplier<Object> mapeamento) throws Exception {
+        return objectMapper.writeValueAsBytes(mapeamento.get());
+    }
+}
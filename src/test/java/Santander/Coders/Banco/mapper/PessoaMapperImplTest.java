@@ -1,6 +1,7 @@
 package Santander.Coders.Banco.mapper;
 
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
@@ -13,7 +14,6 @@ import Santander.Coders.Banco.model.response.PessoaResponseDto;
 import org.junit.jupiter.api.Test;
 import org.mockito.internal.matchers.Null;
 
-import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +44,20 @@ class PessoaMapperImplTest {
         );
     }
 
+    @Test
+    void toResponseDto_WithLinkedConta_ShouldStopAtContaSummary() {
+        Conta conta = createConta();
+        Pessoa titular = createPessoa();
+
+        titular.setConta(conta);
+        conta.setTitular(titular);
+
+        PessoaResponseDto pessoaResponseDto = pessoaMapper.toResponseDto(titular);
+
+        assertEquals(conta.getId(), pessoaResponseDto.conta().id());
+        assertNull(pessoaResponseDto.conta().titular());
+    }
+
     @Test
     void toResponseDto_WithNullDto_ShouldReturnNull() {
         PessoaResponseDto result = pessoaMapper.toResponseDto(null);
@@ -151,7 +165,7 @@ class PessoaMapperImplTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titular(new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .build();
     }
@@ -163,7 +177,7 @@ class PessoaMapperImplTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(new PessoaResponseDto(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .buildResponseDto();
     }
@@ -0,0 +1,37 @@
+package Santander.Coders.Banco.mapper;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.response.TransacaoResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransacaoMapperImplTest {
+
+    private final TransacaoMapper transacaoMapper = new TransacaoMapperImpl();
+
+    @Test
+    void toResponseDto() {
+        Transacao transacao = new Transacao(1L, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("12.50"), LocalDateTime.now());
+        transacao.setId(10L);
+
+        TransacaoResponseDto transacaoResponseDto = transacaoMapper.toResponseDto(transacao);
+
+        assertAll(
+                () -> assertNotNull(transacaoResponseDto),
+                () -> assertEquals(transacao.getId(), transacaoResponseDto.id()),
+                () -> assertEquals(transacao.getTipo(), transacaoResponseDto.tipo()),
+                () -> assertEquals(transacao.getValor(), transacaoResponseDto.valor()),
+                () -> assertEquals(transacao.getData(), transacaoResponseDto.data())
+        );
+    }
+
+    @Test
+    void toResponseDto_WithNullTransacao_ShouldReturnNull() {
+        assertNull(transacaoMapper.toResponseDto(null));
+    }
+}
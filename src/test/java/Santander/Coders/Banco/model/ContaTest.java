@@ -4,7 +4,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +17,18 @@ class ContaTest {
         conta.setCreatedAt(LocalDateTime.now());
     }
 
+    @Test
+    @DisplayName("Should not recurse through the titular in equals, hashCode and toString")
+    void objectMethods_ShouldIgnoreBidirectionalTitular() {
+        Pessoa titular = new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", conta);
+        conta.setTitular(titular);
+
+        assertDoesNotThrow(() -> conta.hashCode());
+        assertDoesNotThrow(() -> titular.hashCode());
+        assertFalse(conta.toString().contains("titular"));
+        assertFalse(titular.toString().contains("conta="));
+    }
+
     @Test
     @DisplayName("Should get and set id")
     void getId() {
@@ -53,9 +64,9 @@ class ContaTest {
     @Test
     @DisplayName("Should get and set saldo")
     void getSaldo() {
-        assertEquals(BigDecimal.ZERO, conta.getSaldo());
-        conta.setSaldo(BigDecimal.valueOf(2000));
-        assertEquals(BigDecimal.valueOf(2000), conta.getSaldo());
+        assertEquals(Dinheiro.ZERO, conta.getSaldo());
+        conta.setSaldo(Dinheiro.valueOf("2000"));
+        assertEquals(Dinheiro.valueOf("2000"), conta.getSaldo());
     }
 
     @Test
@@ -148,65 +159,65 @@ class ContaTest {
 
     @Test
     void depositarValorPositivoDeveAumentarSaldo() {
-        conta.depositar(new BigDecimal("500"));
-        assertEquals(new BigDecimal("500"), conta.getSaldo());
+        conta.depositar(Dinheiro.valueOf("500"));
+        assertEquals(Dinheiro.valueOf("500"), conta.getSaldo());
     }
 
     @Test
     void depositarValorZeroDeveLancarExcecao() {
-        BigDecimal valorDeposito = BigDecimal.ZERO;
+        Dinheiro valorDeposito = Dinheiro.ZERO;
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.depositar(valorDeposito));
         assertEquals("O valor do depósito deve ser maior que zero.", exception.getMessage());
     }
 
     @Test
     void sacarValorPositivoDeveDiminuirSaldo() {
-        conta.setSaldo(new BigDecimal("1000"));
-        conta.sacar(new BigDecimal("500"));
-        assertEquals(new BigDecimal("500"), conta.getSaldo());
+        conta.setSaldo(Dinheiro.valueOf("1000"));
+        conta.sacar(Dinheiro.valueOf("500"));
+        assertEquals(Dinheiro.valueOf("500"), conta.getSaldo());
     }
 
     @Test
     void sacarValorMaiorQueSaldoDeveLancarExcecao() {
-        BigDecimal valorSaque = new BigDecimal("1500");
+        Dinheiro valorSaque = Dinheiro.valueOf("1500");
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.sacar(valorSaque));
         assertEquals("Saldo insuficiente para realizar o saque.", exception.getMessage());
     }
 
     @Test
     void sacarValorZeroDeveLancarExcecao() {
-        BigDecimal valorSaque = BigDecimal.ZERO;
+        Dinheiro valorSaque = Dinheiro.ZERO;
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.sacar(valorSaque));
         assertEquals("O valor do saque deve ser maior que zero.", exception.getMessage());
     }
 
     @Test
     void transferirValorPositivoDeveDiminuirSaldoEIncrementarSaldoDestino() {
-        conta.setSaldo(new BigDecimal("1000"));
+        conta.setSaldo(Dinheiro.valueOf("1000"));
         Conta contaDestino = new Conta();
-        contaDestino.setSaldo(BigDecimal.ZERO);
+        contaDestino.setSaldo(Dinheiro.ZERO);
 
-        conta.transferir(contaDestino, new BigDecimal("500"));
+        conta.transferir(contaDestino, Dinheiro.valueOf("500"));
 
-        assertEquals(new BigDecimal("500"), conta.getSaldo());
-        assertEquals(new BigDecimal("500"), contaDestino.getSaldo());
+        assertEquals(Dinheiro.valueOf("500"), conta.getSaldo());
+        assertEquals(Dinheiro.valueOf("500"), contaDestino.getSaldo());
     }
 
     @Test
     void transferirValorMaiorQueSaldoDeveLancarExcecao() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(new Conta(), new BigDecimal("1500")));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(new Conta(), Dinheiro.valueOf("1500")));
         assertEquals("Saldo insuficiente para realizar a transferência.", exception.getMessage());
     }
 
     @Test
     void transferirValorZeroDeveLancarExcecao() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(new Conta(), BigDecimal.ZERO));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(new Conta(), Dinheiro.ZERO));
         assertEquals("O valor da transferência deve ser maior que zero.", exception.getMessage());
     }
 
     @Test
     void transferirParaContaDestinoNulaDeveLancarExcecao() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(null, new BigDecimal("500")));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> conta.transferir(null, Dinheiro.valueOf("500")));
         assertEquals("Conta de destino não pode ser nula.", exception.getMessage());
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package Santander.Coders.Banco.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DinheiroTest {
+    @Test
+    @DisplayName("Should parse decimal text into exact centavos")
+    void valueOf_ShouldParseExactCentavos() {
+        assertAll(
+                () -> assertEquals(10, Dinheiro.valueOf("0.1").getCentavos()),
+                () -> assertEquals(10000, Dinheiro.valueOf("100").getCentavos()),
+                () -> assertEquals(10050, Dinheiro.valueOf("100.50").getCentavos()),
+                () -> assertEquals(-125, Dinheiro.valueOf("-1.25").getCentavos()),
+                () -> assertEquals(150, Dinheiro.valueOf("1.500").getCentavos())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject invalid text and more than two decimal places")
+    void valueOf_ShouldRejectInvalidValues() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf("0.001")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf("1,00")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf("abc")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf(".")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf("99999999999999999999"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should do exact arithmetic without rounding errors")
+    void somar_ShouldBeExact() {
+        Dinheiro total = Dinheiro.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.somar(Dinheiro.valueOf("0.1"));
+        }
+
+        assertEquals(Dinheiro.valueOf("1"), total);
+        assertEquals(Dinheiro.valueOf("0.7"), total.subtrair(Dinheiro.valueOf("0.3")));
+        assertEquals("-1.00", total.negar().toString());
+    }
+
+    @Test
+    @DisplayName("Should convert to and from BigDecimal with scale 2")
+    void toBigDecimal_ShouldUseScaleTwo() {
+        assertEquals(new BigDecimal("12.05"), Dinheiro.valueOf("12.05").toBigDecimal());
+        assertEquals(Dinheiro.valueOf("12.05"), Dinheiro.valueOf(new BigDecimal("12.050")));
+        assertThrows(IllegalArgumentException.class, () -> Dinheiro.valueOf(new BigDecimal("12.055")));
+    }
+
+    @Test
+    @DisplayName("Should serialize and deserialize as a JSON number")
+    void json_ShouldRoundTripAsNumber() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("12.05", objectMapper.writeValueAsString(Dinheiro.valueOf("12.05")));
+        assertEquals(Dinheiro.valueOf("12.05"), objectMapper.readValue("12.05", Dinheiro.class));
+        assertEquals(Dinheiro.valueOf("3"), objectMapper.readValue("\"3\"", Dinheiro.class));
+        assertThrows(Exception.class, () -> objectMapper.readValue("0.001", Dinheiro.class));
+    }
+}
@@ -4,7 +4,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,7 +15,7 @@ class TransacaoTest {
     @BeforeEach
     void setUp() {
         agora = LocalDateTime.now();
-        transacao = new Transacao(1L, TipoTransacao.TRANSFERENCIA_ENVIO, BigDecimal.valueOf(1000), agora);
+        transacao = new Transacao(1L, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("1000"), agora);
     }
 
     @Test
@@ -45,9 +44,9 @@ class TransacaoTest {
     @Test
     @DisplayName("Should get and set value")
     void getValor() {
-        assertEquals(new BigDecimal("1000"), transacao.getValor());
-        transacao.setValor(new BigDecimal("2000"));
-        assertEquals(new BigDecimal("2000"), transacao.getValor());
+        assertEquals(Dinheiro.valueOf("1000"), transacao.getValor());
+        transacao.setValor(Dinheiro.valueOf("2000"));
+        assertEquals(Dinheiro.valueOf("2000"), transacao.getValor());
     }
 
     @Test
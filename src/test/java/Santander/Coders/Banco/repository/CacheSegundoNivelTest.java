@@ -0,0 +1,115 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.builder.ContaBuilder;
+import Santander.Coders.Banco.model.builder.PessoaBuilder;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CacheSegundoNivelTest {
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+    private Statistics statistics;
+    private Cache cache;
+    private Long contaId;
+    private Long pessoaId;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache = entityManagerFactory.getCache();
+
+        Pessoa pessoa = new PessoaBuilder().nome("Pessoa Cache").cpf("99900000001").endereco("Rua").telefone("11999999999").build();
+        Conta conta = new ContaBuilder().agencia(1L).numero(990001L).titular(pessoa).build();
+        conta.setTipo(TipoConta.CORRENTE);
+        pessoa.setConta(conta);
+        pessoaId = transacao.execute(s -> pessoaRepository.save(pessoa).getId());
+        contaId = pessoa.getConta().getId();
+
+        cache.evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacao.executeWithoutResult(s -> pessoaRepository.deleteById(pessoaId));
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated conta load and its titular from the second-level cache")
+    void findById_ShouldHitSecondLevelCache() {
+        transacao.execute(s -> contaRepository.findById(contaId).orElseThrow());
+        long carregadas = statistics.getEntityStatistics(Conta.class.getName()).getLoadCount();
+
+        Conta conta = transacao.execute(s -> contaRepository.findById(contaId).orElseThrow());
+
+        // Só o lado inverso (Pessoa.conta) ainda consulta por titular_id; as linhas vêm do cache.
+        assertEquals("Pessoa Cache", conta.getTitular().getNome());
+        assertEquals(carregadas, statistics.getEntityStatistics(Conta.class.getName()).getLoadCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("contas").getHitCount() >= 1);
+        assertTrue(statistics.getDomainDataRegionStatistics("pessoas").getHitCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should cache the active pessoa lookup query")
+    void findByIdAndInativedFalse_ShouldHitQueryCache() {
+        transacao.execute(s -> pessoaRepository.findByIdAndInativedFalse(pessoaId).orElseThrow());
+        long carregadas = statistics.getEntityStatistics(Pessoa.class.getName()).getLoadCount();
+
+        transacao.execute(s -> pessoaRepository.findByIdAndInativedFalse(pessoaId).orElseThrow());
+
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+        assertEquals(carregadas, statistics.getEntityStatistics(Pessoa.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should drop only the changed contas when balances move outside Hibernate")
+    void atualizacoesDeSaldo_ShouldEvictOnlyContas() {
+        transacao.execute(s -> contaRepository.findById(contaId).orElseThrow());
+        assertTrue(cache.contains(Conta.class, contaId));
+        assertTrue(cache.contains(Pessoa.class, pessoaId));
+
+        transacao.execute(s -> contaRepository.creditar(contaId, BigDecimal.TEN));
+
+        assertFalse(cache.contains(Conta.class, contaId));
+        assertTrue(cache.contains(Pessoa.class, pessoaId));
+
+        transacao.execute(s -> contaRepository.findById(contaId).orElseThrow());
+        transacao.executeWithoutResult(s -> contaRepository.aplicarDeltasSaldo(new TreeMap<>(Map.of(contaId, Dinheiro.valueOf("5")))));
+
+        assertFalse(cache.contains(Conta.class, contaId));
+        assertEquals(Dinheiro.valueOf("15"), transacao.execute(s -> contaRepository.findById(contaId).orElseThrow()).getSaldo());
+    }
+}
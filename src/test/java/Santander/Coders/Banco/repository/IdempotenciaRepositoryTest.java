@@ -0,0 +1,39 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Idempotencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class IdempotenciaRepositoryTest {
+    @Autowired
+    private IdempotenciaRepository idempotenciaRepository;
+
+    @Test
+    @DisplayName("Should insert the key with its outcome")
+    void inserir_ShouldPersistOutcome() {
+        idempotenciaRepository.inserir(new Idempotencia("chave-repositorio", "sacar:1:50.00", false,
+                "IllegalArgumentException", "Saldo insuficiente para realizar o saque."));
+
+        Idempotencia idempotencia = idempotenciaRepository.findById("chave-repositorio").orElseThrow();
+        assertFalse(idempotencia.isSucesso());
+        assertEquals("Saldo insuficiente para realizar o saque.", idempotencia.getErroMensagem());
+        assertNotNull(idempotencia.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should fail on the primary key instead of overwriting an existing key")
+    void inserir_ShouldRejectDuplicateKey() {
+        idempotenciaRepository.inserir(new Idempotencia("chave-duplicada", "depositar:1:100.00", true, null, null));
+
+        assertThrows(DataIntegrityViolationException.class, () -> idempotenciaRepository.inserir(
+                new Idempotencia("chave-duplicada", "depositar:1:100.00", true, null, null)));
+    }
+}
@@ -0,0 +1,16 @@
+package Santander.Coders.Banco.repository;
+
+import org.junit.jupiter.api.Tag;
+
+/**
+ * As verificações de IndicesConsultaTest com cerca de um milhão de contas e pessoas, volume em que um plano sem índice
+ * já seria uma varredura cara. Fica fora da suíte padrão; para rodar use mvn test -Pbenchmark
+ * (-Dbanco.benchmark.indices.linhas muda o volume).
+ */
+@Tag("benchmark")
+class IndicesConsultaBenchmarkTest extends IndicesConsultaTest {
+    @Override
+    int linhas() {
+        return Integer.getInteger("banco.benchmark.indices.linhas", 1_000_000);
+    }
+}
@@ -0,0 +1,107 @@
+package Santander.Coders.Banco.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere pelos planos de execução que as consultas de unicidade e as listagens de ativos usam os índices. A massa é
+ * gravada uma vez para a classe toda e removida no final; -Dbanco.teste.indices.linhas muda o volume. A mesma
+ * verificação com um volume de produção fica em IndicesConsultaBenchmarkTest.
+ */
+@SpringBootTest
+@Transactional
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndicesConsultaTest {
+    private static final long BASE_ID = 5_000_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @BeforeAll
+    void setUp() {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = LongStream.range(BASE_ID, BASE_ID + linhas()).boxed().toList();
+
+        jdbcTemplate.batchUpdate("INSERT INTO pessoas (id, nome, cpf, endereco, telefone, inatived, created_at) " +
+                "VALUES (?, 'Pessoa', ?, 'Rua', ?, ?, ?)", ids, 1_000, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, cpf(id));
+            ps.setString(3, cpf(id));
+            ps.setBoolean(4, id % 10 == 0);
+            ps.setTimestamp(5, agora);
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO contas (id, agencia, numero, saldo, tipo, titular_id, canceled, version, created_at) " +
+                "VALUES (?, 1, ?, 0, '0', ?, ?, 0, ?)", ids, 1_000, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setLong(2, id);
+            ps.setLong(3, id);
+            ps.setBoolean(4, id % 10 == 0);
+            ps.setTimestamp(5, agora);
+        });
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contas WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM pessoas WHERE id >= ?", BASE_ID);
+    }
+
+    @Test
+    @DisplayName("Should answer numero and cpf lookups from the unique indexes")
+    void existsBy_ShouldUseUniqueIndexes() {
+        int linhas = linhas();
+        assertPlanoUsa("uk_contas_numero", "SELECT EXISTS (SELECT 1 FROM contas WHERE numero = 5000000001)");
+        assertPlanoUsa("uk_pessoas_cpf", "SELECT EXISTS (SELECT 1 FROM pessoas WHERE cpf = '" + cpf(BASE_ID + 1) + "')");
+
+        assertTrue(contaRepository.existsByNumero(BASE_ID + linhas - 1));
+        assertFalse(contaRepository.existsByNumero(BASE_ID + linhas));
+        assertTrue(pessoaRepository.existsByCpf(cpf(BASE_ID)));
+        assertFalse(pessoaRepository.existsByCpf(cpf(BASE_ID + linhas)));
+    }
+
+    @Test
+    @DisplayName("Should list active contas and pessoas through the filtered indexes")
+    void findAllAtivos_ShouldUseFilteredIndexes() {
+        int linhas = linhas();
+        assertPlanoUsa("idx_contas_ativas", "SELECT id FROM contas WHERE canceled = false ORDER BY id LIMIT 20 OFFSET 100");
+        assertPlanoUsa("idx_pessoas_ativas", "SELECT id FROM pessoas WHERE inatived = false ORDER BY id LIMIT 20 OFFSET 100");
+
+        assertTrue(contaRepository.findAllAndCanceledFalse(PageRequest.of(0, 20)).getTotalElements() >= linhas - linhas / 10);
+        assertTrue(pessoaRepository.findAllAndInativedFalse(PageRequest.of(0, 20)).getTotalElements() >= linhas - linhas / 10);
+    }
+
+    int linhas() {
+        return Integer.getInteger("banco.teste.indices.linhas", 2_000);
+    }
+
+    private void assertPlanoUsa(String indice, String sql) {
+        String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertTrue(plano.toLowerCase().contains(indice), plano);
+    }
+
+    private static String cpf(long id) {
+        return String.format("%011d", id);
+    }
+}
@@ -0,0 +1,87 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.builder.ContaBuilder;
+import Santander.Coders.Banco.model.builder.PessoaBuilder;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class InsercaoEmLoteTest {
+    private static final int QUANTIDADE = 500;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should send bulk inserts of pessoas and contas as JDBC batches")
+    void saveAll_ShouldBatchPessoaAndContaInserts() {
+        List<Pessoa> pessoas = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Pessoa pessoa = new PessoaBuilder().nome("Pessoa " + i).cpf(String.format("%011d", i))
+                    .endereco("Rua " + i).telefone("11999999999").build();
+            Conta conta = new ContaBuilder().agencia(1L).numero(900000L + i).titular(pessoa).build();
+            conta.setTipo(TipoConta.CORRENTE);
+            pessoa.setConta(conta);
+            pessoas.add(pessoa);
+        }
+
+        pessoaRepository.saveAll(pessoas);
+        entityManager.flush();
+
+        assertEquals(2L * QUANTIDADE, statistics.getEntityInsertCount());
+        assertTrue(pessoas.stream().allMatch(p -> p.getId() != null && p.getConta().getId() != null));
+        // Um statement por lote de 50 linhas e uma chamada de sequência a cada 50 ids, por tabela.
+        assertTrue(statistics.getPrepareStatementCount() <= 4L * QUANTIDADE / 50 + 4,
+                "statements preparados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should send bulk inserts of transacoes as JDBC batches")
+    void saveAll_ShouldBatchTransacaoInserts() {
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            transacoes.add(new Transacao(1L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.deCentavos(100 + i), LocalDateTime.now()));
+        }
+
+        transacaoRepository.saveAll(transacoes);
+        entityManager.flush();
+
+        assertEquals(QUANTIDADE, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2L * QUANTIDADE / 50 + 2,
+                "statements preparados: " + statistics.getPrepareStatementCount());
+    }
+}
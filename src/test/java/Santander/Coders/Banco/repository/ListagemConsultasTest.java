@@ -0,0 +1,202 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.builder.ContaBuilder;
+import Santander.Coders.Banco.model.builder.PessoaBuilder;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListagemConsultasTest {
+    private static final int QUANTIDADE = 30;
+    private static final PageRequest PAGINA = PageRequest.of(0, 10);
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Pessoa> pessoas = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Pessoa pessoa = new PessoaBuilder().nome("Pessoa " + i).cpf(String.format("7%010d", i))
+                    .endereco("Rua " + i).telefone("11999999999").build();
+            Conta conta = new ContaBuilder().agencia(1L).numero(700000L + i).titular(pessoa).build();
+            conta.setTipo(TipoConta.CORRENTE);
+            pessoa.setConta(conta);
+            pessoas.add(pessoa);
+        }
+        pessoaRepository.saveAll(pessoas);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a page of contas with their titulares in the page and count queries only")
+    void findAllAndCanceledFalse_ShouldNotQueryPerRow() {
+        Page<Conta> contas = contaRepository.findAllAndCanceledFalse(PAGINA);
+
+        assertEquals(PAGINA.getPageSize(), contas.getNumberOfElements());
+        contas.forEach(conta -> assertSame(conta, conta.getTitular().getConta()));
+        assertEquals(2, statistics.getPrepareStatementCount(), "statements preparados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load a page of pessoas with their contas in the page and count queries only")
+    void findAllAndInativedFalse_ShouldNotQueryPerRow() {
+        Page<Pessoa> pessoas = pessoaRepository.findAllAndInativedFalse(PAGINA);
+
+        assertEquals(PAGINA.getPageSize(), pessoas.getNumberOfElements());
+        pessoas.forEach(pessoa -> assertSame(pessoa, pessoa.getConta().getTitular()));
+        assertEquals(2, statistics.getPrepareStatementCount(), "statements preparados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should project contas straight into response DTOs without managed entities")
+    void findAllResponseDtoAndCanceledFalse_ShouldNotLoadEntities() {
+        Slice<ContaResponseDto> contas = contaRepository.findAllResponseDtoAndCanceledFalse(PAGINA);
+        Long id = contas.getContent().get(0).id();
+        ContaResponseDto conta = contaRepository.buscarVersionado(id).orElseThrow().corpo();
+
+        assertEquals(PAGINA.getPageSize(), contas.getNumberOfElements());
+        assertTrue(contas.stream().allMatch(c -> c.titular() != null && c.titular().conta() == null));
+        assertEquals(contas.getContent().get(0), conta);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should project pessoas straight into response DTOs without managed entities")
+    void findAllResponseDtoAndInativedFalse_ShouldNotLoadEntities() {
+        Slice<PessoaResponseDto> pessoas = pessoaRepository.findAllResponseDtoAndInativedFalse(PAGINA);
+        Long id = pessoas.getContent().get(0).id();
+        PessoaResponseDto pessoa = pessoaRepository.buscarVersionado(id).orElseThrow().corpo();
+
+        assertEquals(PAGINA.getPageSize(), pessoas.getNumberOfElements());
+        assertTrue(pessoas.stream().allMatch(p -> p.conta() != null && p.conta().titular() == null));
+        assertEquals(pessoas.getContent().get(0), pessoa);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should scroll through all active contas by id with one query per page and no count")
+    void findAllResponseDtoAndCanceledFalseAndIdGreaterThan_ShouldSeekFromLastId() {
+        List<Long> ids = new ArrayList<>();
+        int paginas = 0;
+        Slice<ContaResponseDto> pagina;
+        long aposId = 0;
+
+        do {
+            pagina = contaRepository.findAllResponseDtoAndCanceledFalseAndIdGreaterThan(aposId, PageRequest.ofSize(7));
+            pagina.forEach(conta -> ids.add(conta.id()));
+            aposId = ids.get(ids.size() - 1);
+            paginas++;
+        } while (pagina.hasNext());
+
+        assertTrue(ids.size() >= QUANTIDADE);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+        assertEquals(paginas, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should read the version used for ETags in the same query as the response")
+    void buscarVersionado_ShouldFollowBalanceChanges() {
+        Long id = contaRepository.findAllResponseDtoAndCanceledFalse(PAGINA).getContent().get(0).id();
+
+        Versionado<ContaResponseDto> antes = contaRepository.buscarVersionado(id).orElseThrow();
+        contaRepository.creditar(id, BigDecimal.TEN);
+        Versionado<ContaResponseDto> depois = contaRepository.buscarVersionado(id).orElseThrow();
+        Versionado<ContaResponseDto> saldo = contaRepository.buscarCampos(id, Set.of("saldo")).orElseThrow();
+
+        assertNotNull(antes.versao().atualizadoEm());
+        assertEquals(antes.versao().versao() + 1, depois.versao().versao());
+        assertEquals(antes.corpo().saldo().somar(Dinheiro.valueOf("10")), depois.corpo().saldo());
+        assertNotEquals(antes.etag(id), depois.etag(id));
+        assertEquals(depois.versao().versao(), saldo.versao().versao());
+        assertNull(saldo.versao().atualizadoEm());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should read only the requested conta columns and join the titular only when asked")
+    void buscarCampos_ShouldSelectOnlyRequestedColumns() {
+        Long id = contaRepository.findAllResponseDtoAndCanceledFalse(PAGINA).getContent().get(0).id();
+        statistics.clear();
+
+        ContaResponseDto saldo = contaRepository.buscarCampos(id, Set.of("saldo")).orElseThrow().corpo();
+        ContaResponseDto comTitular = contaRepository.buscarCampos(id, Set.of("numero", "titular")).orElseThrow().corpo();
+
+        assertEquals(new ContaResponseDto(id, null, null, null, saldo.saldo(), null), saldo);
+        assertNotNull(saldo.saldo());
+        assertNotNull(comTitular.titular().nome());
+        assertNull(comTitular.saldo());
+        assertTrue(List.of(statistics.getQueries()).stream()
+                .anyMatch(q -> q.contains("saldo") && !q.contains("titular")));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should scroll pessoas reading only the requested columns")
+    void buscarCamposAposId_ShouldSeekFromLastId() {
+        List<PessoaResponseDto> primeira = pessoaRepository.buscarCamposAposId(0L, 7, Set.of("nome"));
+        List<PessoaResponseDto> segunda = pessoaRepository.buscarCamposAposId(primeira.get(6).id(), 7, Set.of("nome", "conta"));
+
+        assertEquals(7, primeira.size());
+        assertTrue(primeira.stream().allMatch(p -> p.nome() != null && p.cpf() == null && p.conta() == null));
+        assertTrue(primeira.get(6).id() < segunda.get(0).id());
+        assertTrue(segunda.stream().allMatch(p -> p.conta() != null && p.conta().saldo() != null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should resolve a set of pessoas by id with a single query")
+    void findAllResponseDtoByIdInAndInativedFalse_ShouldUseOneQuery() {
+        List<Long> ids = pessoaRepository.findAllResponseDtoAndInativedFalse(PAGINA).map(PessoaResponseDto::id).getContent();
+        statistics.clear();
+
+        List<PessoaResponseDto> pessoas = pessoaRepository.findAllResponseDtoByIdInAndInativedFalse(List.of(ids.get(0), ids.get(1), -1L));
+
+        assertEquals(Set.of(ids.get(0), ids.get(1)), Set.copyOf(pessoas.stream().map(PessoaResponseDto::id).toList()));
+        assertTrue(pessoas.stream().allMatch(p -> p.conta() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
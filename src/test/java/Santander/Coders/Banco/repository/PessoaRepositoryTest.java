@@ -1,6 +1,7 @@
 package Santander.Coders.Banco.repository;
 
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
@@ -12,7 +13,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -108,7 +108,7 @@ class PessoaRepositoryTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titular(new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .build();
     }
@@ -0,0 +1,127 @@
+package Santander.Coders.Banco.repository;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.SaldoDiario;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TransacaoRepositoryTest {
+    private static final Long CONTA_ID = 987654321L;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Pares de transações com a mesma data, para exercitar o desempate por id.
+            TipoTransacao tipo = i % 2 == 0 ? TipoTransacao.TRANSFERENCIA_RECEBIMENTO : TipoTransacao.TRANSFERENCIA_ENVIO;
+            transacoes.add(new Transacao(CONTA_ID, tipo, Dinheiro.deCentavos(100 + i), INICIO.plusDays(i / 2)));
+        }
+        transacoes.add(new Transacao(CONTA_ID + 1, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("1"), INICIO));
+
+        transacaoRepository.saveAllAndFlush(transacoes);
+    }
+
+    @Test
+    @DisplayName("Should page through the statement from newest to oldest without repeating rows")
+    void buscarExtrato_ShouldSeekFromLastReturnedRow() {
+        List<Transacao> todas = new ArrayList<>();
+        LocalDateTime aposData = null;
+        Long aposId = null;
+
+        List<Transacao> pagina;
+        do {
+            pagina = transacaoRepository.buscarExtrato(CONTA_ID, null, null, null, aposData, aposId, 3);
+            todas.addAll(pagina);
+
+            if (!pagina.isEmpty()) {
+                aposData = pagina.get(pagina.size() - 1).getData();
+                aposId = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == 3);
+
+        assertEquals(10, todas.size());
+        assertEquals(10, todas.stream().map(Transacao::getId).distinct().count());
+        for (int i = 1; i < todas.size(); i++) {
+            Transacao anterior = todas.get(i - 1);
+            Transacao atual = todas.get(i);
+            assertTrue(anterior.getData().isAfter(atual.getData())
+                    || anterior.getData().equals(atual.getData()) && anterior.getId() > atual.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should filter the statement by date range and type")
+    void buscarExtrato_ShouldApplyDateRangeAndTypeFilters() {
+        List<Transacao> resultado = transacaoRepository.buscarExtrato(CONTA_ID, INICIO.plusDays(1), INICIO.plusDays(3),
+                TipoTransacao.TRANSFERENCIA_ENVIO, null, null, 50);
+
+        assertEquals(2, resultado.size());
+        assertTrue(resultado.stream().allMatch(t -> t.getTipo() == TipoTransacao.TRANSFERENCIA_ENVIO));
+        assertEquals(List.of(INICIO.plusDays(2), INICIO.plusDays(1)), resultado.stream().map(Transacao::getData).toList());
+        assertEquals(Dinheiro.deCentavos(105), resultado.get(0).getValor());
+    }
+
+    @Test
+    @DisplayName("Should stream the account history in chronological order within the date range")
+    void percorrer_ShouldVisitRowsInChronologicalOrder() {
+        List<Transacao> visitadas = new ArrayList<>();
+
+        transacaoRepository.percorrer(CONTA_ID, INICIO.plusDays(1), null, 2, visitadas::add);
+
+        assertEquals(8, visitadas.size());
+        assertTrue(visitadas.stream().allMatch(t -> t.getContaId().equals(CONTA_ID) && !t.getData().isBefore(INICIO.plusDays(1))));
+        for (int i = 1; i < visitadas.size(); i++) {
+            Transacao anterior = visitadas.get(i - 1);
+            Transacao atual = visitadas.get(i);
+            assertTrue(anterior.getData().isBefore(atual.getData())
+                    || anterior.getData().equals(atual.getData()) && anterior.getId() < atual.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the daily balance summary up to date as transacoes are recorded")
+    void inserirEmLote_ShouldMaintainDailyBalances() {
+        Long contaId = CONTA_ID + 2;
+        LocalDateTime dia = INICIO.plusDays(10);
+
+        transacaoRepository.inserirEmLote(List.of(
+                new Transacao(contaId, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("100"), dia),
+                new Transacao(contaId, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("30"), dia.plusHours(1))));
+        transacaoRepository.inserirEmLote(List.of(
+                new Transacao(contaId, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("20"), dia.plusDays(2)),
+                new Transacao(contaId, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("5"), dia.plusHours(2))));
+
+        List<SaldoDiario> saldos = saldoDiarioRepository.findByContaIdAndDiaBetweenOrderByDia(
+                contaId, dia.toLocalDate(), dia.toLocalDate().plusDays(2));
+
+        assertEquals(2, saldos.size());
+        assertEquals(Dinheiro.ZERO, saldos.get(0).getSaldoInicial());
+        assertEquals(Dinheiro.valueOf("105"), saldos.get(0).getCreditos());
+        assertEquals(Dinheiro.valueOf("30"), saldos.get(0).getDebitos());
+        assertEquals(3, saldos.get(0).getQuantidade());
+        // O dia seguinte abre com o fechamento do anterior, já contando o crédito que chegou no segundo lote.
+        assertEquals(Dinheiro.valueOf("75"), saldos.get(1).getSaldoInicial());
+        assertEquals(Dinheiro.valueOf("55"), saldos.get(1).getSaldoFinal());
+    }
+}
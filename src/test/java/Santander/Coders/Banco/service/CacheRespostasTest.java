@@ -0,0 +1,131 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
+import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRespostasTest {
+    private MeterRegistry meterRegistry;
+    private CacheRespostas cacheRespostas;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheRespostas = new CacheRespostas(meterRegistry, 2, Duration.ofMinutes(1));
+        cargas = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache and count hits and misses")
+    void buscarConta_ShouldLoadOnlyOnce() {
+        cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "100"));
+        Versionado<ContaResponseDto> resposta = cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "999"));
+
+        assertEquals(Dinheiro.valueOf("100"), resposta.corpo().saldo());
+        assertEquals(1, cargas.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "contas").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "contas").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the account and its holder only after the transaction completes")
+    void invalidarConta_ShouldWaitForTransactionCompletion() {
+        cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "100"));
+        cacheRespostas.buscarPessoa(10L, () -> pessoa(10L, conta(1L, 10L, "100")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheRespostas.invalidarConta(1L);
+
+        assertEquals(Dinheiro.valueOf("100"), cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "50")).corpo().saldo());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(Dinheiro.valueOf("50"), cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "50")).corpo().saldo());
+        assertEquals(Dinheiro.valueOf("50"),
+                cacheRespostas.buscarPessoa(10L, () -> pessoa(10L, conta(1L, 10L, "50"))).corpo().conta().saldo());
+    }
+
+    @Test
+    @DisplayName("Should discard a value loaded before a concurrent invalidation")
+    void buscarConta_ShouldNotStoreValueInvalidatedDuringLoad() {
+        Versionado<ContaResponseDto> antiga = cacheRespostas.buscarConta(1L, () -> {
+            cacheRespostas.invalidarConta(1L);
+            return conta(1L, 10L, "100");
+        });
+
+        Versionado<ContaResponseDto> atual = cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "50"));
+
+        assertEquals(Dinheiro.valueOf("100"), antiga.corpo().saldo());
+        assertEquals(Dinheiro.valueOf("50"), atual.corpo().saldo());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries beyond the capacity and expired entries")
+    void buscarConta_ShouldEvictByCapacityAndTtl() {
+        for (long id = 1; id <= 3; id++) {
+            long contaId = id;
+            cacheRespostas.buscarConta(contaId, () -> conta(contaId, null, "1"));
+        }
+        cacheRespostas.buscarConta(1L, () -> conta(1L, null, "1"));
+
+        assertEquals(4, cargas.get());
+        assertEquals(2, meterRegistry.get("cache.evictions").tag("cache", "contas").tag("motivo", "capacidade").counter().count());
+
+        CacheRespostas semTtl = new CacheRespostas(meterRegistry = new SimpleMeterRegistry(), 2, Duration.ZERO);
+        semTtl.buscarConta(1L, () -> conta(1L, null, "1"));
+        semTtl.buscarConta(1L, () -> conta(1L, null, "1"));
+
+        assertEquals(6, cargas.get());
+        assertEquals(1, meterRegistry.get("cache.evictions").tag("cache", "contas").tag("motivo", "expiracao").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should peek at a cached response without loading or storing anything")
+    void contaEmCache_ShouldNotLoad() {
+        assertTrue(cacheRespostas.contaEmCache(1L).isEmpty());
+
+        cacheRespostas.buscarConta(1L, () -> conta(1L, 10L, "100"));
+
+        assertEquals(Dinheiro.valueOf("100"), cacheRespostas.contaEmCache(1L).orElseThrow().corpo().saldo());
+        assertEquals(1, cargas.get());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "contas").tag("result", "miss").counter().count());
+    }
+
+    private Versionado<ContaResponseDto> conta(Long id, Long titularId, String saldo) {
+        cargas.incrementAndGet();
+        PessoaResponseDto titular = titularId == null ? null : new PessoaResponseDto(titularId, "Pessoa", "00000000000", "Rua", "11999999999", null);
+
+        return new Versionado<>(new ContaResponseDto(id, 1L, id, TipoConta.CORRENTE, Dinheiro.valueOf(saldo), titular),
+                new Versao(0L, null));
+    }
+
+    private Versionado<PessoaResponseDto> pessoa(Long id, Versionado<ContaResponseDto> conta) {
+        return new Versionado<>(new PessoaResponseDto(id, "Pessoa", "00000000000", "Rua", "11999999999", conta.corpo()),
+                new Versao(conta.versao().versao(), null));
+    }
+}
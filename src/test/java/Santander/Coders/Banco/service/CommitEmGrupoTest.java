@@ -0,0 +1,106 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CommitEmGrupoTest {
+    private static final long ID = 6_000_000_000L;
+
+    @Autowired
+    private CommitEmGrupo commitEmGrupo;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO pessoas (id, nome, cpf, endereco, telefone, inatived, created_at) " +
+                "VALUES (?, 'Pessoa', '60000000000', 'Rua', '11999999999', false, ?)", ID, agora);
+        jdbcTemplate.update("INSERT INTO contas (id, agencia, numero, saldo, tipo, titular_id, canceled, version, created_at) " +
+                "VALUES (?, 1, ?, 0, '0', ?, false, 0, ?)", ID, ID, ID, agora);
+        threads = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        threads.shutdownNow();
+        threads.awaitTermination(10, TimeUnit.SECONDS);
+        jdbcTemplate.update("DELETE FROM transacoes WHERE conta_id = ?", ID);
+        jdbcTemplate.update("DELETE FROM saldo_diario WHERE conta_id = ?", ID);
+        jdbcTemplate.update("DELETE FROM contas WHERE id = ?", ID);
+        jdbcTemplate.update("DELETE FROM pessoas WHERE id = ?", ID);
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent movements together and roll back only the one that fails")
+    void executar_ShouldCommitConcurrentMovementsInOneTransaction() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<Boolean> bloqueio = threads.submit(() -> commitEmGrupo.executar(() -> {
+            iniciou.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(iniciou.await(10, TimeUnit.SECONDS));
+
+        // Enquanto o escritor está ocupado, as três movimentações se acumulam e vão juntas para o próximo lote.
+        Future<?> deposito = threads.submit(() -> contaService.depositar(ID, Dinheiro.valueOf("10")));
+        Future<?> saque = threads.submit(() -> contaService.sacar(ID, Dinheiro.valueOf("1000")));
+        Future<?> outroDeposito = threads.submit(() -> contaService.depositar(ID, Dinheiro.valueOf("5")));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (commitEmGrupo.pendentes() < 3 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, commitEmGrupo.pendentes());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long commits = statistics.getSuccessfulTransactionCount();
+        liberar.countDown();
+
+        assertTrue(bloqueio.get(10, TimeUnit.SECONDS));
+        deposito.get(10, TimeUnit.SECONDS);
+        outroDeposito.get(10, TimeUnit.SECONDS);
+        ExecutionException falha = assertThrows(ExecutionException.class, () -> saque.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, falha.getCause());
+
+        // Um commit para o lote que segurava o escritor e um para as três movimentações.
+        assertEquals(commits + 2, statistics.getSuccessfulTransactionCount());
+        assertEquals(Dinheiro.valueOf("15"), Dinheiro.valueOf(
+                jdbcTemplate.queryForObject("SELECT saldo FROM contas WHERE id = ?", BigDecimal.class, ID)));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacoes WHERE conta_id = ?", Integer.class, ID));
+    }
+}
@@ -2,37 +2,65 @@ package Santander.Coders.Banco.service;
 
 import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.mapper.ContaMapper;
+import Santander.Coders.Banco.mapper.TransacaoMapper;
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.SaldoDiario;
 import Santander.Coders.Banco.model.TipoConta;
+import Santander.Coders.Banco.model.TipoTransacao;
 import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
 import Santander.Coders.Banco.model.request.ContaPostDto;
 import Santander.Coders.Banco.model.request.ContaPutDto;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.CreditoLoteResponseDto;
+import Santander.Coders.Banco.model.response.CursorResponseDto;
+import Santander.Coders.Banco.model.response.ExtratoResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
+import Santander.Coders.Banco.model.response.ResultadoPorIdResponseDto;
+import Santander.Coders.Banco.model.response.ResumoDiarioResponseDto;
+import Santander.Coders.Banco.model.response.ResumoResponseDto;
+import Santander.Coders.Banco.model.response.TransacaoResponseDto;
 import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.SaldoDiarioRepository;
 import Santander.Coders.Banco.repository.TransacaoRepository;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -47,6 +75,28 @@ class ContaServiceTest {
     private TransacaoRepository transacaoRepository;
     @Mock
     private ContaMapper contaMapper;
+    @Mock
+    private TransacaoMapper transacaoMapper;
+    @Mock
+    private MovimentacaoExecutor movimentacaoExecutor;
+    @Mock
+    private ObjectProvider<LedgerEngine> ledgerEngineProvider;
+    @Mock
+    private LedgerEngine ledgerEngine;
+    @Mock
+    private SaldoDiarioRepository saldoDiarioRepository;
+    @Mock
+    private CacheRespostas cacheRespostas;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(movimentacaoExecutor).executar(any(Runnable.class));
+        lenient().when(cacheRespostas.buscarConta(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Versionado<ContaResponseDto>>>getArgument(1).get());
+    }
 
     @Test
     @DisplayName("Returns a list of accounts")
@@ -56,12 +106,12 @@ class ContaServiceTest {
 
         when(contaRepository.save(any(Conta.class))).thenReturn(conta);
         contaRepository.save(conta);
-        when(contaRepository.findAllAndCanceledFalse(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(conta), pageable, 1));
+        when(contaRepository.findAllResponseDtoAndCanceledFalse(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(createContaResponseDto()), pageable, 1));
         Page<ContaResponseDto> response = contaService.findAll(pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
-        verify(contaRepository, times(1)).findAllAndCanceledFalse(pageable);
+        verify(contaRepository, times(1)).findAllResponseDtoAndCanceledFalse(pageable);
     }
 
     @Test
@@ -69,11 +119,43 @@ class ContaServiceTest {
     void findAll_ShouldReturnAnEmptyListOfAccounts() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(contaRepository.findAllAndCanceledFalse(pageable)).thenReturn(new PageImpl<>(Collections.EMPTY_LIST, pageable, 0));
+        when(contaRepository.findAllResponseDtoAndCanceledFalse(pageable)).thenReturn(new PageImpl<>(Collections.EMPTY_LIST, pageable, 0));
         Page<ContaResponseDto> response = contaService.findAll(pageable);
 
         assertEquals(0, response.getContent().size());
-        verify(contaRepository, times(1)).findAllAndCanceledFalse(pageable);
+        verify(contaRepository, times(1)).findAllResponseDtoAndCanceledFalse(pageable);
+    }
+
+    @Test
+    void findAll_ShouldTakeTotalFromCachedCountWhenPageIsFull() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(contaRepository.findAllResponseDtoAndCanceledFalse(pageable))
+                .thenReturn(new SliceImpl<>(List.of(createContaResponseDto()), pageable, true));
+        when(cacheRespostas.contarContas(any())).thenReturn(42L);
+
+        Page<ContaResponseDto> response = contaService.findAll(pageable);
+
+        assertEquals(42, response.getTotalElements());
+        verify(contaRepository, never()).countByCanceledFalse();
+    }
+
+    @Test
+    void listar_ShouldReturnCursorOfLastIdWhenThereAreMoreRows() {
+        ContaResponseDto conta = createContaResponseDto();
+        when(contaRepository.findAllResponseDtoAndCanceledFalseAndIdGreaterThan(0L, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(conta), PageRequest.ofSize(1), true));
+        when(contaRepository.findAllResponseDtoAndCanceledFalseAndIdGreaterThan(conta.id(), PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(1), false));
+
+        CursorResponseDto<ContaResponseDto> primeira = contaService.listar(null, 1, null);
+        CursorResponseDto<ContaResponseDto> segunda = contaService.listar(primeira.proximoCursor(), 1, null);
+
+        assertEquals(List.of(conta), primeira.itens());
+        assertNotNull(primeira.proximoCursor());
+        assertTrue(segunda.itens().isEmpty());
+        assertNull(segunda.proximoCursor());
+        assertThrows(IllegalArgumentException.class, () -> contaService.listar("???", 1, null));
+        assertThrows(IllegalArgumentException.class, () -> contaService.listar(null, 501, null));
     }
 
     @Test
@@ -83,8 +165,7 @@ class ContaServiceTest {
 
         when(contaRepository.save(any(Conta.class))).thenReturn(conta);
         conta = contaRepository.save(conta);
-        when(contaRepository.findByIdAndCanceledFalse(conta.getId())).thenReturn(Optional.of(conta));
-        when(contaMapper.toResponseDto(conta)).thenReturn(createContaResponseDto());
+        when(contaRepository.buscarVersionado(conta.getId())).thenReturn(Optional.of(versionado(createContaResponseDto(), 0L)));
         ContaResponseDto response = contaService.findById(conta.getId());
 
         assertNotNull(response);
@@ -96,11 +177,88 @@ class ContaServiceTest {
     void findById_WithInvalidOrderId_ShouldThrowEntityNotFoundException() {
         Long orderId = 999L;
 
-        when(contaRepository.findByIdAndCanceledFalse(orderId)).thenReturn(Optional.empty());
+        when(contaRepository.buscarVersionado(orderId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> contaService.findById(orderId));
     }
 
+    @Test
+    @DisplayName("Should resolve ids from the cache first and the rest with one query, in request order")
+    void findAllById_ShouldKeepRequestOrderAndMarkMissingIds() {
+        ContaResponseDto emCache = new ContaResponseDto(1L, 1L, 10L, TipoConta.CORRENTE, Dinheiro.ZERO, null);
+        ContaResponseDto consultada = new ContaResponseDto(2L, 1L, 20L, TipoConta.CORRENTE, Dinheiro.ZERO, null);
+        when(cacheRespostas.contaEmCache(anyLong())).thenReturn(Optional.empty());
+        when(cacheRespostas.contaEmCache(1L)).thenReturn(Optional.of(versionado(emCache, 0L)));
+        when(contaRepository.findAllResponseDtoByIdInAndCanceledFalse(List.of(3L, 2L))).thenReturn(List.of(consultada));
+
+        List<ResultadoPorIdResponseDto<ContaResponseDto>> resultado = contaService.findAllById(List.of(3L, 1L, 2L, 1L));
+
+        assertEquals(List.of(
+                new ResultadoPorIdResponseDto<ContaResponseDto>(3L, false, null),
+                new ResultadoPorIdResponseDto<>(1L, true, emCache),
+                new ResultadoPorIdResponseDto<>(2L, true, consultada),
+                new ResultadoPorIdResponseDto<>(1L, true, emCache)), resultado);
+        verify(contaRepository, times(1)).findAllResponseDtoByIdInAndCanceledFalse(any());
+        assertThrows(IllegalArgumentException.class, () -> contaService.findAllById(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should trim a cached response or read only the requested columns")
+    void findById_WithFields_ShouldReturnOnlyRequestedFields() {
+        ContaResponseDto conta = createContaResponseDto();
+        Set<String> campos = Set.of("saldo");
+        when(cacheRespostas.contaEmCache(1L)).thenReturn(Optional.of(versionado(conta, 0L)), Optional.empty());
+        when(contaRepository.buscarCampos(1L, campos))
+                .thenReturn(Optional.of(versionado(new ContaResponseDto(1L, null, null, null, conta.saldo(), null), 0L)));
+
+        ContaResponseDto emCache = contaService.findById(1L, "saldo");
+        ContaResponseDto consultada = contaService.findById(1L, " saldo ");
+
+        assertEquals(new ContaResponseDto(null, null, null, null, conta.saldo(), null), emCache);
+        assertEquals(emCache, consultada);
+        verify(contaRepository, times(1)).buscarCampos(1L, campos);
+        verify(contaRepository, never()).buscarVersionado(any());
+        assertThrows(IllegalArgumentException.class, () -> contaService.findById(1L, "saldo,senha"));
+        assertThrows(IllegalArgumentException.class, () -> contaService.findById(1L, ","));
+    }
+
+    @Test
+    @DisplayName("Should derive the ETag from the version read with the response and the requested fields")
+    void findVersionadoById_ShouldChangeEtagWithVersionAndFields() {
+        LocalDateTime atualizadoEm = LocalDateTime.of(2024, 1, 1, 0, 0);
+        ContaResponseDto conta = createContaResponseDto();
+        when(contaRepository.buscarVersionado(1L)).thenReturn(
+                Optional.of(new Versionado<>(conta, new Versao(3L, atualizadoEm))),
+                Optional.of(new Versionado<>(conta, new Versao(4L, atualizadoEm))));
+        when(cacheRespostas.contaEmCache(1L)).thenReturn(Optional.of(new Versionado<>(conta, new Versao(3L, atualizadoEm))));
+        when(contaRepository.buscarVersionado(2L)).thenReturn(Optional.empty());
+
+        Versionado<ContaResponseDto> completa = contaService.findVersionadoById(1L, null);
+        Versionado<ContaResponseDto> saldo = contaService.findVersionadoById(1L, "saldo,id");
+
+        assertEquals(conta, completa.corpo());
+        assertNotEquals(completa.etag(1L), saldo.etag(1L));
+        assertEquals(saldo.etag(1L), contaService.findVersionadoById(1L, "id,saldo").etag(1L));
+        // Sem o titular no recorte, a data de alteração dele fica fora do ETag.
+        assertNotEquals(saldo.etag(1L), contaService.findVersionadoById(1L, "saldo,titular").etag(1L));
+        assertNotEquals(completa.etag(1L), contaService.findVersionadoById(1L, null).etag(1L));
+        assertThrows(EntityNotFoundException.class, () -> contaService.findVersionadoById(2L, null));
+    }
+
+    @Test
+    @DisplayName("Should scroll only the requested fields and keep the cursor on the id")
+    void listar_WithFields_ShouldKeepCursorWithoutReturningId() {
+        Set<String> campos = Set.of("numero");
+        when(contaRepository.buscarCamposAposId(0L, 2, campos)).thenReturn(List.of(
+                new ContaResponseDto(5L, null, 50L, null, null, null),
+                new ContaResponseDto(6L, null, 60L, null, null, null)));
+
+        CursorResponseDto<ContaResponseDto> resposta = contaService.listar(null, 1, "numero");
+
+        assertEquals(List.of(new ContaResponseDto(null, null, 50L, null, null, null)), resposta.itens());
+        assertEquals(5L, Cursores.lerId(resposta.proximoCursor()));
+    }
+
     @Test
     @DisplayName("Should return the account after successfully saving it")
     void save_ShouldReturnAccountResponseDto() {
@@ -108,7 +266,7 @@ class ContaServiceTest {
         ContaPostDto contaPostDto = createContaPostDto();
 
         when(contaMapper.postDtoToEntity(contaPostDto)).thenReturn(conta);
-        when(contaRepository.save(conta)).thenReturn(conta);
+        when(contaRepository.saveAndFlush(conta)).thenReturn(conta);
         when(contaMapper.toResponseDto(conta)).thenReturn(createContaResponseDto());
 
         ContaResponseDto response = contaService.save(contaPostDto);
@@ -117,7 +275,7 @@ class ContaServiceTest {
                 () -> assertNotNull(response),
                 () -> assertEquals(contaPostDto.agencia(), response.agencia()),
                 () -> assertEquals(contaPostDto.numero(), response.numero()),
-                () -> verify(contaRepository, times(1)).save(any(Conta.class))
+                () -> verify(contaRepository, times(1)).saveAndFlush(any(Conta.class))
         );
     }
 
@@ -138,14 +296,27 @@ class ContaServiceTest {
         ContaPostDto contaPostDto = createContaPostDto();
 
         when(contaMapper.postDtoToEntity(contaPostDto)).thenReturn(conta);
-        when(contaRepository.existsByNumero(conta.getNumero())).thenReturn(true);
+        when(contaRepository.saveAndFlush(conta)).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", null, "uk_contas_numero")));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> contaService.save(contaPostDto));
 
         assertEquals("Conta já existente!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations of other constraints")
+    void save_ShouldRethrowOtherIntegrityViolations() {
+        Conta conta = createConta();
+        ContaPostDto contaPostDto = createContaPostDto();
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("outra",
+                new ConstraintViolationException("outra", null, "outra_restricao"));
+
+        when(contaMapper.postDtoToEntity(contaPostDto)).thenReturn(conta);
+        when(contaRepository.saveAndFlush(conta)).thenThrow(violacao);
 
-        verify(contaRepository, never()).save(any());
+        assertSame(violacao, assertThrows(DataIntegrityViolationException.class, () -> contaService.save(contaPostDto)));
     }
 
     @Test
@@ -224,6 +395,7 @@ class ContaServiceTest {
         contaService.delete(id);
 
         verify(contaRepository, times(1)).findById(id);
+        verify(cacheRespostas).invalidarConta(id);
     }
 
     @Test
@@ -238,46 +410,47 @@ class ContaServiceTest {
 
     @Test
     void depositar_ShouldDepositAndSaveTransaction() {
-        Double valor = 100.0;
+        Dinheiro valor = Dinheiro.valueOf("100.0");
         Conta conta = createConta();
-        when(contaRepository.findById(conta.getId())).thenReturn(Optional.of(conta));
+        when(contaRepository.findByIdForUpdate(conta.getId())).thenReturn(Optional.of(conta));
 
         contaService.depositar(conta.getId(), valor);
 
-        verify(contaRepository, times(1)).findById(conta.getId());
+        verify(contaRepository, times(1)).findByIdForUpdate(conta.getId());
         verify(contaRepository, times(1)).save(conta);
-        verify(transacaoRepository, times(1)).save(any(Transacao.class));
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 1));
+        verify(cacheRespostas).invalidarConta(conta.getId());
     }
 
     @Test
     void depositar_ShouldWithdrawAndSaveTransaction() {
-        Double valor = 0.0;
+        Dinheiro valor = Dinheiro.valueOf("0.0");
         Conta conta = createConta();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> conta.depositar(new BigDecimal(valor)));
+                () -> conta.depositar(valor));
         assertEquals("O valor do depósito deve ser maior que zero.", exception.getMessage());
     }
 
     @Test
     void sacar_ShouldWithdrawAndSaveTransaction() {
-        Double valor = 50.0;
+        Dinheiro valor = Dinheiro.valueOf("50.0");
         Conta conta = createConta();
-        conta.setSaldo(new BigDecimal(100.0));
-        when(contaRepository.findById(conta.getId())).thenReturn(Optional.of(conta));
+        conta.setSaldo(Dinheiro.valueOf("100.0"));
+        when(contaRepository.findByIdForUpdate(conta.getId())).thenReturn(Optional.of(conta));
 
         contaService.sacar(conta.getId(), valor);
 
-        verify(contaRepository, times(1)).findById(conta.getId());
+        verify(contaRepository, times(1)).findByIdForUpdate(conta.getId());
         verify(contaRepository, times(1)).save(conta);
-        verify(transacaoRepository, times(1)).save(any(Transacao.class));
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 1));
     }
 
     @Test
     void sacar_ShouldThrowExceptionWhenInsufficientBalance() {
-        Double valor = 50.0;
+        Dinheiro valor = Dinheiro.valueOf("50.0");
         Conta conta = createConta();
-        when(contaRepository.findById(conta.getId())).thenReturn(java.util.Optional.of(conta));
+        when(contaRepository.findByIdForUpdate(conta.getId())).thenReturn(java.util.Optional.of(conta));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> contaService.sacar(conta.getId(), valor));
@@ -286,33 +459,298 @@ class ContaServiceTest {
 
     @Test
     void transferir_ShouldTransferAndSaveTransactions() {
-        Double valor = 75.0;
+        Dinheiro valor = Dinheiro.valueOf("75.0");
         Conta contaOrigem = createConta();
-        contaOrigem.setSaldo(new BigDecimal(1000.00));
+        contaOrigem.setSaldo(Dinheiro.valueOf("1000.00"));
         Conta contaDestino = createContaDestino();
-        when(contaRepository.findById(contaOrigem.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findById(contaDestino.getId())).thenReturn(Optional.of(contaDestino));
+        when(contaRepository.findByIdForUpdate(contaOrigem.getId())).thenReturn(Optional.of(contaOrigem));
+        when(contaRepository.findByIdForUpdate(contaDestino.getId())).thenReturn(Optional.of(contaDestino));
 
         contaService.transferir(contaOrigem.getId(), contaDestino.getId(), valor);
 
-        verify(contaRepository, times(2)).findById(anyLong());
+        verify(contaRepository, times(2)).findByIdForUpdate(anyLong());
         verify(contaRepository, times(2)).save(any(Conta.class));
-        verify(transacaoRepository, times(2)).save(any(Transacao.class));
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 2));
     }
 
     @Test
     void transferir_ShouldThrowExceptionWhenInsufficientBalance() {
-        Double valor = 75.0;
+        Dinheiro valor = Dinheiro.valueOf("75.0");
         Conta contaOrigem = createConta();
         Conta contaDestino = createContaDestino();
-        when(contaRepository.findById(contaOrigem.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findById(contaDestino.getId())).thenReturn(Optional.of(contaDestino));
+        when(contaRepository.findByIdForUpdate(contaOrigem.getId())).thenReturn(Optional.of(contaOrigem));
+        when(contaRepository.findByIdForUpdate(contaDestino.getId())).thenReturn(Optional.of(contaDestino));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> contaService.transferir(contaOrigem.getId(), contaDestino.getId(), valor));
         assertEquals("Saldo insuficiente para realizar a transferência.", exception.getMessage());
     }
 
+    @Test
+    void transferir_ShouldLockAccountsInAscendingIdOrder() {
+        Dinheiro valor = Dinheiro.valueOf("75.0");
+        Conta contaOrigem = createContaDestino();
+        contaOrigem.setSaldo(Dinheiro.valueOf("1000.00"));
+        Conta contaDestino = createConta();
+        when(contaRepository.findByIdForUpdate(contaOrigem.getId())).thenReturn(Optional.of(contaOrigem));
+        when(contaRepository.findByIdForUpdate(contaDestino.getId())).thenReturn(Optional.of(contaDestino));
+
+        contaService.transferir(contaOrigem.getId(), contaDestino.getId(), valor);
+
+        InOrder inOrder = inOrder(contaRepository);
+        inOrder.verify(contaRepository).findByIdForUpdate(contaDestino.getId());
+        inOrder.verify(contaRepository).findByIdForUpdate(contaOrigem.getId());
+    }
+
+    @Test
+    @DisplayName("Should not record the transaction when the movement fails")
+    void depositar_ShouldNotRecordTransactionWhenAccountIsMissing() {
+        when(contaRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> contaService.depositar(999L, Dinheiro.valueOf("10.0")));
+        verify(transacaoRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    void transferir_ShouldThrowExceptionWhenSameAccount() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.transferir(1L, 1L, Dinheiro.valueOf("10.0")));
+        assertEquals("Conta de destino deve ser diferente da conta de origem.", exception.getMessage());
+
+        verifyNoInteractions(contaRepository);
+    }
+
+
+    @Test
+    void depositar_ShouldLoadWithoutLockInOptimisticMode() {
+        Dinheiro valor = Dinheiro.valueOf("100.0");
+        Conta conta = createConta();
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.OTIMISTA);
+        when(contaRepository.findById(conta.getId())).thenReturn(Optional.of(conta));
+
+        contaService.depositar(conta.getId(), valor);
+
+        verify(contaRepository, never()).findByIdForUpdate(anyLong());
+        verify(contaRepository, times(1)).save(conta);
+        verify(movimentacaoExecutor, times(1)).executar(any(Runnable.class));
+    }
+
+    @Test
+    void depositar_ShouldUpdateBalanceWithSingleStatementInAtomicMode() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        when(contaRepository.creditar(eq(1L), any(BigDecimal.class))).thenReturn(1);
+
+        contaService.depositar(1L, Dinheiro.valueOf("100.0"));
+
+        verify(contaRepository, never()).findByIdForUpdate(anyLong());
+        verify(contaRepository, never()).save(any(Conta.class));
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 1));
+    }
+
+    @Test
+    void depositar_ShouldThrowEntityNotFoundExceptionInAtomicModeWhenNoRowIsUpdated() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        when(contaRepository.creditar(eq(999L), any(BigDecimal.class))).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> contaService.depositar(999L, Dinheiro.valueOf("100.0")));
+        verify(transacaoRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    void sacar_ShouldThrowExceptionInAtomicModeWhenInsufficientBalance() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        when(contaRepository.debitar(eq(1L), any(BigDecimal.class))).thenReturn(0);
+        when(contaRepository.existsById(1L)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.sacar(1L, Dinheiro.valueOf("50.0")));
+        assertEquals("Saldo insuficiente para realizar o saque.", exception.getMessage());
+        verify(transacaoRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    void transferir_ShouldUpdateAccountsInAscendingIdOrderInAtomicMode() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        when(contaRepository.creditar(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        when(contaRepository.debitar(eq(2L), any(BigDecimal.class))).thenReturn(1);
+
+        contaService.transferir(2L, 1L, Dinheiro.valueOf("75.0"));
+
+        InOrder inOrder = inOrder(contaRepository);
+        inOrder.verify(contaRepository).creditar(eq(1L), any(BigDecimal.class));
+        inOrder.verify(contaRepository).debitar(eq(2L), any(BigDecimal.class));
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 2));
+    }
+
+    @Test
+    void transferir_ShouldDelegateToLedgerEngineInLedgerMode() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.LEDGER);
+        when(ledgerEngineProvider.getObject()).thenReturn(ledgerEngine);
+        when(ledgerEngine.transferir(1L, 2L, Dinheiro.valueOf("75.0"))).thenReturn(CompletableFuture.completedFuture(null));
+
+        contaService.transferir(1L, 2L, Dinheiro.valueOf("75.0"));
+
+        verify(ledgerEngine).transferir(1L, 2L, Dinheiro.valueOf("75.0"));
+        verifyNoInteractions(contaRepository, transacaoRepository, movimentacaoExecutor);
+    }
+
+    @Test
+    void sacar_ShouldRethrowLedgerEngineErrorsInLedgerMode() {
+        ReflectionTestUtils.setField(contaService, "modoConcorrencia", ModoConcorrencia.LEDGER);
+        when(ledgerEngineProvider.getObject()).thenReturn(ledgerEngine);
+        when(ledgerEngine.sacar(1L, Dinheiro.valueOf("50.0")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Saldo insuficiente para realizar o saque.")));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.sacar(1L, Dinheiro.valueOf("50.0")));
+        assertEquals("Saldo insuficiente para realizar o saque.", exception.getMessage());
+    }
+
+    @Test
+    void creditarEmLote_ShouldStageCreditsAndApplyThemAsOneSetBasedUpdate() {
+        String arquivo = "# conta_id;valor\n2;100.50\n3;10\n\n2;0.50\n";
+        when(contaRepository.findContasInexistentesDoLote(anyString())).thenReturn(List.of());
+        when(contaRepository.debitar(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        when(contaRepository.creditarLote(anyString())).thenReturn(2);
+
+        CreditoLoteResponseDto response = contaService.creditarEmLote(1L, new BufferedReader(new StringReader(arquivo)));
+
+        assertAll(
+                () -> assertEquals(3, response.creditos()),
+                () -> assertEquals(2, response.contasCreditadas()),
+                () -> assertEquals(Dinheiro.valueOf("111.00"), response.total())
+        );
+        InOrder inOrder = inOrder(contaRepository);
+        inOrder.verify(contaRepository).inserirCreditosLote(anyString(), anyList());
+        inOrder.verify(contaRepository).bloquearContasDoLote(anyString(), eq(1L));
+        inOrder.verify(contaRepository).debitar(1L, new BigDecimal("111.00"));
+        inOrder.verify(contaRepository).creditarLote(anyString());
+        inOrder.verify(contaRepository).registrarTransacoesLote(anyString(), any());
+        inOrder.verify(contaRepository).removerCreditosLote(anyString());
+        verify(transacaoRepository).inserirEmLote(argThat(transacoes -> transacoes.size() == 1
+                && transacoes.get(0).getTipo() == TipoTransacao.TRANSFERENCIA_ENVIO
+                && transacoes.get(0).getValor().equals(Dinheiro.valueOf("111.00"))));
+    }
+
+    @Test
+    void creditarEmLote_ShouldThrowEntityNotFoundExceptionWhenTargetAccountsDoNotExist() {
+        when(contaRepository.findContasInexistentesDoLote(anyString())).thenReturn(List.of(99L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> contaService.creditarEmLote(1L, new BufferedReader(new StringReader("99;10"))));
+        assertEquals("Contas de destino não encontradas: [99]", exception.getMessage());
+
+        verify(contaRepository, never()).debitar(anyLong(), any(BigDecimal.class));
+        verify(contaRepository, never()).creditarLote(anyString());
+    }
+
+    @Test
+    void creditarEmLote_ShouldRejectMalformedLine() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.creditarEmLote(1L, new BufferedReader(new StringReader("2;10\n3-10"))));
+        assertEquals("Linha 2 inválida, formato esperado: conta_id;valor.", exception.getMessage());
+
+        verify(contaRepository, never()).inserirCreditosLote(anyString(), anyList());
+    }
+
+    @Test
+    void extrato_ShouldReturnNextCursorAndSeekFromIt() {
+        LocalDateTime data = LocalDateTime.of(2024, 1, 10, 12, 30);
+        Transacao primeira = createTransacao(3L, data);
+        Transacao segunda = createTransacao(2L, data);
+        Transacao terceira = createTransacao(1L, data.minusDays(1));
+
+        when(contaRepository.existsById(1L)).thenReturn(true);
+        when(transacaoMapper.toResponseDto(any(Transacao.class))).thenAnswer(invocation -> {
+            Transacao transacao = invocation.getArgument(0);
+            return new TransacaoResponseDto(transacao.getId(), transacao.getTipo(), transacao.getValor(), transacao.getData());
+        });
+        when(transacaoRepository.buscarExtrato(1L, null, null, null, null, null, 3))
+                .thenReturn(new ArrayList<>(List.of(primeira, segunda, terceira)));
+
+        ExtratoResponseDto pagina = contaService.extrato(1L, null, null, null, null, 2);
+
+        assertEquals(List.of(3L, 2L), pagina.transacoes().stream().map(TransacaoResponseDto::id).toList());
+        assertNotNull(pagina.proximoCursor());
+
+        when(transacaoRepository.buscarExtrato(1L, null, null, null, data, 2L, 3)).thenReturn(List.of(terceira));
+
+        ExtratoResponseDto proxima = contaService.extrato(1L, null, null, null, pagina.proximoCursor(), 2);
+
+        assertEquals(List.of(1L), proxima.transacoes().stream().map(TransacaoResponseDto::id).toList());
+        assertNull(proxima.proximoCursor());
+    }
+
+    @Test
+    void extrato_ShouldRejectInvalidCursor() {
+        when(contaRepository.existsById(1L)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.extrato(1L, null, null, null, "invalido", 50));
+        assertEquals("Cursor de extrato inválido.", exception.getMessage());
+
+        verify(transacaoRepository, never()).buscarExtrato(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void extrato_ShouldThrowEntityNotFoundExceptionWhenAccountDoesNotExist() {
+        when(contaRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> contaService.extrato(1L, null, null, null, null, 50));
+    }
+
+    @Test
+    void resumo_ShouldAggregateDailyBalancesOfThePeriod() {
+        LocalDate dia = LocalDate.of(2024, 1, 10);
+        when(contaRepository.existsById(1L)).thenReturn(true);
+        when(saldoDiarioRepository.findByContaIdAndDiaBetweenOrderByDia(1L, dia, dia.plusDays(5))).thenReturn(List.of(
+                new SaldoDiario(1L, dia, Dinheiro.valueOf("100"), Dinheiro.valueOf("50"), Dinheiro.valueOf("20"), 3),
+                new SaldoDiario(1L, dia.plusDays(2), Dinheiro.valueOf("130"), Dinheiro.ZERO, Dinheiro.valueOf("30"), 1)));
+
+        ResumoResponseDto resumo = contaService.resumo(1L, dia, dia.plusDays(5));
+
+        assertEquals(Dinheiro.valueOf("100"), resumo.saldoInicial());
+        assertEquals(Dinheiro.valueOf("50"), resumo.creditos());
+        assertEquals(Dinheiro.valueOf("50"), resumo.debitos());
+        assertEquals(Dinheiro.valueOf("100"), resumo.saldoFinal());
+        assertEquals(4, resumo.quantidade());
+        assertEquals(List.of(Dinheiro.valueOf("130"), Dinheiro.valueOf("100")),
+                resumo.dias().stream().map(ResumoDiarioResponseDto::saldoFinal).toList());
+    }
+
+    @Test
+    void resumo_ShouldCarryPreviousClosingBalanceWhenPeriodHasNoMovement() {
+        LocalDate dia = LocalDate.of(2024, 1, 10);
+        when(contaRepository.existsById(1L)).thenReturn(true);
+        when(saldoDiarioRepository.findByContaIdAndDiaBetweenOrderByDia(1L, dia, dia)).thenReturn(List.of());
+        when(saldoDiarioRepository.findFirstByContaIdAndDiaLessThanOrderByDiaDesc(1L, dia)).thenReturn(Optional.of(
+                new SaldoDiario(1L, dia.minusDays(3), Dinheiro.valueOf("10"), Dinheiro.valueOf("5"), Dinheiro.ZERO, 1)));
+
+        ResumoResponseDto resumo = contaService.resumo(1L, dia, dia);
+
+        assertEquals(Dinheiro.valueOf("15"), resumo.saldoInicial());
+        assertEquals(Dinheiro.valueOf("15"), resumo.saldoFinal());
+        assertEquals(0, resumo.quantidade());
+        assertTrue(resumo.dias().isEmpty());
+        verify(saldoDiarioRepository, never()).findFirstByContaIdAndDiaGreaterThanOrderByDia(any(), any());
+    }
+
+    @Test
+    void resumo_ShouldRejectInvertedOrTooLongPeriod() {
+        LocalDate dia = LocalDate.of(2024, 1, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> contaService.resumo(1L, dia, dia.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> contaService.resumo(1L, dia, dia.plusDays(366)));
+
+        verifyNoInteractions(contaRepository, saldoDiarioRepository);
+    }
+
+    private Transacao createTransacao(Long id, LocalDateTime data) {
+        Transacao transacao = new Transacao(1L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("10"), data);
+        transacao.setId(id);
+
+        return transacao;
+    }
 
     private Conta createConta(){
         ContaBuilder builder = new ContaBuilder();
@@ -369,7 +807,7 @@ class ContaServiceTest {
                 .agencia(1234L)
                 .numero(123456L)
                 .tipo(TipoConta.CORRENTE)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(createPessoaResponseDto())
                 .buildResponseDto();
     }
@@ -444,4 +882,8 @@ class ContaServiceTest {
                 .contaResponseDto(null)
                 .buildResponseDto();
     }
-}
\ No newline at end of file
+
+    private Versionado<ContaResponseDto> versionado(ContaResponseDto conta, Long versao) {
+        return new Versionado<>(conta, new Versao(versao, null));
+    }
+}
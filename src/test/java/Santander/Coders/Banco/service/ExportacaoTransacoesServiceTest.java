@@ -0,0 +1,104 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.mapper.TransacaoMapperImpl;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.FormatoExportacao;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExportacaoTransacoesServiceTest {
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+    private ContaRepository contaRepository;
+    private TransacaoRepository transacaoRepository;
+    private PlatformTransactionManager transactionManager;
+    private ExportacaoTransacoesService exportacaoTransacoesService;
+
+    @BeforeEach
+    void setUp() {
+        contaRepository = mock(ContaRepository.class);
+        transacaoRepository = mock(TransacaoRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportacaoTransacoesService = new ExportacaoTransacoesService(contaRepository, transacaoRepository,
+                new TransacaoMapperImpl(), objectMapper, transactionManager, 100, 1, Duration.ofMinutes(1));
+
+        when(contaRepository.existsById(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Transacao> consumidor = invocation.getArgument(4);
+            consumidor.accept(createTransacao(1L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, "100.50"));
+            consumidor.accept(createTransacao(2L, TipoTransacao.TRANSFERENCIA_ENVIO, "20"));
+            return null;
+        }).when(transacaoRepository).percorrer(eq(1L), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON object per line inside a transaction")
+    void exportar_ShouldWriteNdjson() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoTransacoesService.exportar(1L, null, null, FormatoExportacao.NDJSON).writeTo(saida);
+
+        assertEquals("""
+                {"id":1,"tipo":"TRANSFERENCIA_RECEBIMENTO","valor":100.50,"data":"2024-03-01T10:15:30"}
+                {"id":2,"tipo":"TRANSFERENCIA_ENVIO","valor":20.00,"data":"2024-03-01T10:15:30"}
+                """, saida.toString(StandardCharsets.UTF_8));
+        verify(transacaoRepository).percorrer(eq(1L), isNull(), isNull(), eq(100), any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should stream a CSV with header")
+    void exportar_ShouldWriteCsv() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoTransacoesService.exportar(1L, null, null, FormatoExportacao.CSV).writeTo(saida);
+
+        assertEquals("""
+                id;tipo;valor;data
+                1;TRANSFERENCIA_RECEBIMENTO;100.50;2024-03-01T10:15:30
+                2;TRANSFERENCIA_ENVIO;20.00;2024-03-01T10:15:30
+                """, saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should fail before streaming when the account does not exist")
+    void exportar_ShouldThrowEntityNotFoundExceptionWhenAccountDoesNotExist() {
+        assertThrows(EntityNotFoundException.class,
+                () -> exportacaoTransacoesService.exportar(2L, null, null, FormatoExportacao.CSV));
+
+        verifyNoInteractions(transacaoRepository);
+    }
+
+    private Transacao createTransacao(Long id, TipoTransacao tipo, String valor) {
+        Transacao transacao = new Transacao(1L, tipo, Dinheiro.valueOf(valor), DATA);
+        transacao.setId(id);
+
+        return transacao;
+    }
+}
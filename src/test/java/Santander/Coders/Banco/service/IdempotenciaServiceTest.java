@@ -0,0 +1,165 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Idempotencia;
+import Santander.Coders.Banco.repository.IdempotenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotenciaServiceTest {
+    private IdempotenciaRepository idempotenciaRepository;
+    private MovimentacaoExecutor movimentacaoExecutor;
+    private IdempotenciaService idempotenciaService;
+
+    @BeforeEach
+    void setUp() {
+        idempotenciaRepository = mock(IdempotenciaRepository.class);
+        when(idempotenciaRepository.findById(any())).thenReturn(Optional.empty());
+        movimentacaoExecutor = mock(MovimentacaoExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(movimentacaoExecutor).executar(any(Runnable.class));
+
+        idempotenciaService = new IdempotenciaService(idempotenciaRepository, movimentacaoExecutor, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should execute the operation only once for repeated keys")
+    void executar_ShouldReplayWithoutExecutingAgain() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        idempotenciaService.executar("chave", "depositar:1:100.0", execucoes::incrementAndGet);
+        idempotenciaService.executar("chave", "depositar:1:100.0", execucoes::incrementAndGet);
+
+        assertEquals(1, execucoes.get());
+        verify(idempotenciaRepository, times(1)).inserir(any());
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent requests with the same key")
+    void executar_ShouldCoalesceConcurrentRequests() throws Exception {
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberada = new CountDownLatch(1);
+
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() ->
+                idempotenciaService.executar("chave", "sacar:1:50.0", () -> {
+                    execucoes.incrementAndGet();
+                    iniciada.countDown();
+                    await(liberada);
+                }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> segunda = CompletableFuture.runAsync(() ->
+                idempotenciaService.executar("chave", "sacar:1:50.0", execucoes::incrementAndGet));
+        liberada.countDown();
+
+        primeira.get(5, TimeUnit.SECONDS);
+        segunda.get(5, TimeUnit.SECONDS);
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Should replay a business failure with the original exception")
+    void executar_ShouldReplayFailure() {
+        AtomicInteger execucoes = new AtomicInteger();
+        Runnable operacao = () -> {
+            execucoes.incrementAndGet();
+            throw new IllegalArgumentException("Saldo insuficiente para realizar o saque.");
+        };
+
+        IllegalArgumentException primeira = assertThrows(IllegalArgumentException.class,
+                () -> idempotenciaService.executar("chave", "sacar:1:50.0", operacao));
+        IllegalArgumentException segunda = assertThrows(IllegalArgumentException.class,
+                () -> idempotenciaService.executar("chave", "sacar:1:50.0", operacao));
+
+        assertEquals(primeira.getMessage(), segunda.getMessage());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Should replay an outcome persisted by a previous execution")
+    void executar_ShouldReplayPersistedOutcome() {
+        when(idempotenciaRepository.findById("chave")).thenReturn(Optional.of(
+                new Idempotencia("chave", "depositar:1:100.0", false, "EntityNotFoundException", "Conta não encontrada.")
+        ));
+        Runnable operacao = mock(Runnable.class);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> idempotenciaService.executar("chave", "depositar:1:100.0", operacao));
+        verifyNoInteractions(operacao);
+    }
+
+    @Test
+    @DisplayName("Should replay instead of executing when another instance already holds the key")
+    void executar_ShouldReplayWhenKeyIsTakenConcurrently() {
+        doThrow(new DataIntegrityViolationException("pk_idempotencias")).when(idempotenciaRepository).inserir(any());
+        when(idempotenciaRepository.findById("chave")).thenReturn(Optional.empty(), Optional.of(
+                new Idempotencia("chave", "depositar:1:100.0", true, null, null)
+        ));
+        Runnable operacao = mock(Runnable.class);
+
+        idempotenciaService.executar("chave", "depositar:1:100.0", operacao);
+
+        verifyNoInteractions(operacao);
+    }
+
+    @Test
+    @DisplayName("Should record the key in the same transaction as the operation")
+    void executar_ShouldRecordKeyBeforeRunningOperationInOneTransaction() {
+        Runnable operacao = mock(Runnable.class);
+
+        idempotenciaService.executar("chave", "depositar:1:100.0", operacao);
+
+        InOrder inOrder = inOrder(movimentacaoExecutor, idempotenciaRepository, operacao);
+        inOrder.verify(movimentacaoExecutor).executar(any(Runnable.class));
+        inOrder.verify(idempotenciaRepository).inserir(argThat(Idempotencia::isSucesso));
+        inOrder.verify(operacao).run();
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void executar_ShouldRejectKeyReusedForDifferentRequest() {
+        idempotenciaService.executar("chave", "depositar:1:100.0", () -> { });
+
+        Runnable operacao = mock(Runnable.class);
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotenciaService.executar("chave", "depositar:1:200.0", operacao));
+        verifyNoInteractions(operacao);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation fails unexpectedly")
+    void executar_ShouldReleaseKeyOnUnexpectedFailure() {
+        assertThrows(IllegalStateException.class, () -> idempotenciaService.executar("chave", "sacar:1:50.0", () -> {
+            throw new IllegalStateException("Falha de infraestrutura.");
+        }));
+
+        Runnable operacao = mock(Runnable.class);
+        idempotenciaService.executar("chave", "sacar:1:50.0", operacao);
+        verify(operacao).run();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
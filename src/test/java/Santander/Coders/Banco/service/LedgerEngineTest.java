@@ -0,0 +1,112 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.exception.EntityNotFoundException;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class LedgerEngineTest {
+    private final Map<Long, Dinheiro> saldosJournal = new ConcurrentHashMap<>();
+    private ContaRepository contaRepository;
+    private LedgerJournal ledgerJournal;
+    private LedgerEngine ledgerEngine;
+
+    @BeforeEach
+    void setUp() {
+        contaRepository = mock(ContaRepository.class);
+        ledgerJournal = mock(LedgerJournal.class);
+
+        when(contaRepository.findSaldoById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id <= 8 ? Optional.of(Dinheiro.valueOf("100")) : Optional.empty();
+        });
+        when(ledgerJournal.isDisponivel()).thenReturn(true);
+        when(ledgerJournal.registrar(anyList())).thenAnswer(invocation -> {
+            List<Transacao> lancamentos = invocation.getArgument(0);
+            for (Transacao transacao : lancamentos) {
+                Dinheiro delta = transacao.getTipo() == TipoTransacao.TRANSFERENCIA_ENVIO ? transacao.getValor().negar() : transacao.getValor();
+                saldosJournal.merge(transacao.getContaId(), delta, Dinheiro::somar);
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        ledgerEngine = new LedgerEngine(contaRepository, ledgerJournal, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerEngine.parar();
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers should keep the total balance and never overdraw an account")
+    void transferir_ShouldKeepBalanceInvariantsUnderConcurrency() {
+        List<CompletableFuture<Void>> operacoes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long origem = ThreadLocalRandom.current().nextLong(1, 9);
+            long destino = origem % 8 + 1;
+            operacoes.add(ledgerEngine.transferir(origem, destino, Dinheiro.valueOf("7")).exceptionally(erro -> null));
+        }
+        operacoes.forEach(CompletableFuture::join);
+
+        Dinheiro total = Dinheiro.ZERO;
+        for (long id = 1; id <= 8; id++) {
+            Dinheiro saldo = Dinheiro.valueOf("100").somar(saldosJournal.getOrDefault(id, Dinheiro.ZERO));
+            assertTrue(saldo.getCentavos() >= 0);
+            total = total.somar(saldo);
+        }
+        assertEquals(Dinheiro.valueOf("800"), total);
+    }
+
+    @Test
+    @DisplayName("Cross-partition transfer to a missing account should refund the origin")
+    void transferir_ShouldRefundOriginWhenDestinationDoesNotExist() {
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ledgerEngine.transferir(1L, 10L, Dinheiro.valueOf("100")).join());
+        assertInstanceOf(EntityNotFoundException.class, exception.getCause());
+
+        ledgerEngine.sacar(1L, Dinheiro.valueOf("100")).join();
+        verify(ledgerJournal, times(1)).registrar(anyList());
+    }
+
+    @Test
+    @DisplayName("Withdrawal above the in-memory balance should be rejected")
+    void sacar_ShouldRejectInsufficientBalance() {
+        ledgerEngine.sacar(2L, Dinheiro.valueOf("60")).join();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ledgerEngine.sacar(2L, Dinheiro.valueOf("60")).join());
+        assertEquals("Saldo insuficiente para realizar o saque.", exception.getCause().getMessage());
+        verify(contaRepository, times(1)).findSaldoById(2L);
+    }
+
+    @Test
+    @DisplayName("Operations should be refused once the journal is unavailable")
+    void depositar_ShouldFailWhenJournalIsUnavailable() {
+        when(ledgerJournal.isDisponivel()).thenReturn(false);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ledgerEngine.depositar(1L, Dinheiro.valueOf("10")).join());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        verify(ledgerJournal, never()).registrar(anyList());
+    }
+}
@@ -0,0 +1,81 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LedgerJournalTest {
+    private ContaRepository contaRepository;
+    private TransacaoRepository transacaoRepository;
+    private LedgerJournal ledgerJournal;
+
+    @BeforeEach
+    void setUp() {
+        contaRepository = mock(ContaRepository.class);
+        transacaoRepository = mock(TransacaoRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ledgerJournal = new LedgerJournal(contaRepository, transacaoRepository, transactionManager, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerJournal.parar();
+    }
+
+    @Test
+    @DisplayName("Should persist balance deltas aggregated per account and the transactions")
+    void registrar_ShouldApplyAggregatedDeltas() {
+        LocalDateTime data = LocalDateTime.now();
+
+        CompletableFuture.allOf(
+                ledgerJournal.registrar(List.of(new Transacao(2L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("10"), data))),
+                ledgerJournal.registrar(List.of(
+                        new Transacao(2L, TipoTransacao.TRANSFERENCIA_ENVIO, Dinheiro.valueOf("4"), data),
+                        new Transacao(1L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("4"), data)
+                ))
+        ).join();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<SortedMap<Long, Dinheiro>> deltas = ArgumentCaptor.forClass(SortedMap.class);
+        verify(contaRepository, atLeastOnce()).aplicarDeltasSaldo(deltas.capture());
+        Dinheiro saldoConta2 = deltas.getAllValues().stream()
+                .map(mapa -> mapa.getOrDefault(2L, Dinheiro.ZERO))
+                .reduce(Dinheiro.ZERO, Dinheiro::somar);
+        assertEquals(Dinheiro.valueOf("6"), saldoConta2);
+        verify(transacaoRepository, atLeastOnce()).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop accepting entries after a write failure")
+    void registrar_ShouldBecomeUnavailableAfterFailure() {
+        doThrow(new IllegalStateException("falha")).when(transacaoRepository).inserirEmLote(anyList());
+
+        CompletableFuture<Void> registro = ledgerJournal.registrar(List.of(
+                new Transacao(1L, TipoTransacao.TRANSFERENCIA_RECEBIMENTO, Dinheiro.valueOf("1"), LocalDateTime.now())));
+
+        assertThrows(CompletionException.class, registro::join);
+        assertFalse(ledgerJournal.isDisponivel());
+        assertTrue(ledgerJournal.registrar(List.of()).isCompletedExceptionally());
+    }
+}
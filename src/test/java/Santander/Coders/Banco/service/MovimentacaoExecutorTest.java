@@ -0,0 +1,80 @@
+package Santander.Coders.Banco.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MovimentacaoExecutorTest {
+    private MeterRegistry meterRegistry;
+    private PlatformTransactionManager transactionManager;
+    private MovimentacaoExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        executor = new MovimentacaoExecutor(transactionManager, meterRegistry, mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(executor, "maxTentativas", 3);
+        ReflectionTestUtils.setField(executor, "backoffInicialMs", 1L);
+        ReflectionTestUtils.setField(executor, "backoffMaximoMs", 2L);
+    }
+
+    @Test
+    @DisplayName("Should retry the operation after an optimistic locking conflict")
+    void executar_ShouldRetryAfterConflict() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        executor.executar(() -> {
+            if (tentativas.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Conta", 1L);
+            }
+        });
+
+        assertEquals(2, tentativas.get());
+        assertEquals(1.0, meterRegistry.get("banco.contas.conflitos").tag("desfecho", "retentado").counter().count());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void executar_ShouldRethrowWhenAttemptsAreExhausted() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.executar(() -> {
+            tentativas.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Conta", 1L);
+        }));
+
+        assertEquals(3, tentativas.get());
+        assertEquals(2.0, meterRegistry.get("banco.contas.conflitos").tag("desfecho", "retentado").counter().count());
+        assertEquals(1.0, meterRegistry.get("banco.contas.conflitos").tag("desfecho", "esgotado").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not retry business errors")
+    void executar_ShouldNotRetryBusinessErrors() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> executor.executar(() -> {
+            tentativas.incrementAndGet();
+            throw new IllegalArgumentException("Saldo insuficiente para realizar o saque.");
+        }));
+
+        assertEquals(1, tentativas.get());
+    }
+}
@@ -4,7 +4,10 @@ import Santander.Coders.Banco.exception.EntityNotFoundException;
 import Santander.Coders.Banco.mapper.ContaMapper;
 import Santander.Coders.Banco.mapper.PessoaMapper;
 import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
 import Santander.Coders.Banco.model.Pessoa;
+import Santander.Coders.Banco.model.Versao;
+import Santander.Coders.Banco.model.Versionado;
 import Santander.Coders.Banco.model.builder.ContaBuilder;
 import Santander.Coders.Banco.model.builder.PessoaBuilder;
 import Santander.Coders.Banco.model.request.ContaPostDto;
@@ -12,23 +15,29 @@ import Santander.Coders.Banco.model.request.ContaPutDto;
 import Santander.Coders.Banco.model.request.PessoaPostDto;
 import Santander.Coders.Banco.model.request.PessoaPutDto;
 import Santander.Coders.Banco.model.response.ContaResponseDto;
+import Santander.Coders.Banco.model.response.CursorResponseDto;
 import Santander.Coders.Banco.model.response.PessoaResponseDto;
 import Santander.Coders.Banco.repository.ContaRepository;
 import Santander.Coders.Banco.repository.PessoaRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
-import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +53,14 @@ class PessoaServiceTest {
     private PessoaRepository pessoaRepository;
     @Mock
     private PessoaMapper pessoaMapper;
+    @Mock
+    private CacheRespostas cacheRespostas;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheRespostas.buscarPessoa(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Versionado<PessoaResponseDto>>>getArgument(1).get());
+    }
 
     @Test
     @DisplayName("Returns a list of accounts")
@@ -53,12 +70,12 @@ class PessoaServiceTest {
 
         when(pessoaRepository.save(any(Pessoa.class))).thenReturn(pessoa);
         pessoaRepository.save(pessoa);
-        when(pessoaRepository.findAllAndInativedFalse(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(pessoa), pageable, 1));
+        when(pessoaRepository.findAllResponseDtoAndInativedFalse(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(createPessoaResponseDto()), pageable, 1));
         Page<PessoaResponseDto> response = pessoaService.findAll(pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
-        verify(pessoaRepository, times(1)).findAllAndInativedFalse(pageable);
+        verify(pessoaRepository, times(1)).findAllResponseDtoAndInativedFalse(pageable);
     }
 
     @Test
@@ -66,11 +83,23 @@ class PessoaServiceTest {
     void findAll_ShouldReturnAnEmptyListOfAccounts() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(pessoaRepository.findAllAndInativedFalse(pageable)).thenReturn(new PageImpl<>(Collections.EMPTY_LIST, pageable, 0));
+        when(pessoaRepository.findAllResponseDtoAndInativedFalse(pageable)).thenReturn(new PageImpl<>(Collections.EMPTY_LIST, pageable, 0));
         Page<PessoaResponseDto> response = pessoaService.findAll(pageable);
 
         assertEquals(0, response.getContent().size());
-        verify(pessoaRepository, times(1)).findAllAndInativedFalse(pageable);
+        verify(pessoaRepository, times(1)).findAllResponseDtoAndInativedFalse(pageable);
+    }
+
+    @Test
+    void listar_ShouldSeekFromCursorId() {
+        PessoaResponseDto pessoa = createPessoaResponseDto();
+        when(pessoaRepository.findAllResponseDtoAndInativedFalseAndIdGreaterThan(0L, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(pessoa), PageRequest.ofSize(1), true));
+
+        CursorResponseDto<PessoaResponseDto> response = pessoaService.listar(null, 1, null);
+
+        assertEquals(List.of(pessoa), response.itens());
+        assertNotNull(response.proximoCursor());
     }
 
     @Test
@@ -80,8 +109,8 @@ class PessoaServiceTest {
 
         when(pessoaRepository.save(any(Pessoa.class))).thenReturn(pessoa);
         pessoa = pessoaRepository.save(pessoa);
-        when(pessoaRepository.findByIdAndInativedFalse(pessoa.getId())).thenReturn(Optional.of(pessoa));
-        when(pessoaMapper.toResponseDto(pessoa)).thenReturn(createPessoaResponseDto());
+        when(pessoaRepository.buscarVersionado(pessoa.getId()))
+                .thenReturn(Optional.of(new Versionado<>(createPessoaResponseDto(), new Versao(null, null))));
         PessoaResponseDto response = pessoaService.findById(pessoa.getId());
 
         assertNotNull(response);
@@ -93,7 +122,7 @@ class PessoaServiceTest {
     void findById_WithInvalidOrderId_ShouldThrowEntityNotFoundException() {
         Long orderId = 999L;
 
-        when(pessoaRepository.findByIdAndInativedFalse(orderId)).thenReturn(Optional.empty());
+        when(pessoaRepository.buscarVersionado(orderId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> pessoaService.findById(orderId));
     }
@@ -105,7 +134,7 @@ class PessoaServiceTest {
         PessoaPostDto pessoaPostDto = createPessoaPostDto();
 
         when(pessoaMapper.postDtoToEntity(pessoaPostDto)).thenReturn(pessoa);
-        when(pessoaRepository.save(pessoa)).thenReturn(pessoa);
+        when(pessoaRepository.saveAndFlush(pessoa)).thenReturn(pessoa);
         when(pessoaMapper.toResponseDto(pessoa)).thenReturn(createPessoaResponseDto());
         PessoaResponseDto response = pessoaService.save(pessoaPostDto);
 
@@ -115,7 +144,7 @@ class PessoaServiceTest {
                 () -> assertEquals(pessoaPostDto.cpf(), response.cpf()),
                 () -> assertEquals(pessoaPostDto.endereco(), response.endereco()),
                 () -> assertEquals(pessoaPostDto.telefone(), response.telefone()),
-                () -> verify(pessoaRepository, times(1)).save(any(Pessoa.class))
+                () -> verify(pessoaRepository, times(1)).saveAndFlush(any(Pessoa.class))
         );
     }
 
@@ -136,14 +165,27 @@ class PessoaServiceTest {
         PessoaPostDto pessoaPostDto = createPessoaPostDto();
 
         when(pessoaMapper.postDtoToEntity(pessoaPostDto)).thenReturn(pessoa);
-        when(pessoaRepository.existsByCpf(pessoa.getCpf())).thenReturn(true);
+        when(pessoaRepository.saveAndFlush(pessoa)).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", null, "uk_pessoas_cpf")));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> pessoaService.save(pessoaPostDto));
 
         assertEquals("Pessoa já cadastrada!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations of other constraints")
+    void save_ShouldRethrowOtherIntegrityViolations() {
+        Pessoa pessoa = createPessoa();
+        PessoaPostDto pessoaPostDto = createPessoaPostDto();
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("outra",
+                new ConstraintViolationException("outra", null, "outra_restricao"));
+
+        when(pessoaMapper.postDtoToEntity(pessoaPostDto)).thenReturn(pessoa);
+        when(pessoaRepository.saveAndFlush(pessoa)).thenThrow(violacao);
 
-        verify(pessoaRepository, never()).save(any());
+        assertSame(violacao, assertThrows(DataIntegrityViolationException.class, () -> pessoaService.save(pessoaPostDto)));
     }
 
     @Test
@@ -234,6 +276,7 @@ class PessoaServiceTest {
         pessoaService.delete(id);
 
         verify(pessoaRepository, times(1)).findById(id);
+        verify(cacheRespostas).invalidarPessoa(id);
     }
 
     @Test
@@ -341,7 +384,7 @@ class PessoaServiceTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titular(new Pessoa(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .build();
     }
@@ -353,7 +396,7 @@ class PessoaServiceTest {
                 .id(1L)
                 .agencia(1234L)
                 .numero(123456L)
-                .saldo(new BigDecimal(1000.00))
+                .saldo(Dinheiro.valueOf("1000.00"))
                 .titularResponseDto(new PessoaResponseDto(1L, "Alice", "12345678911", "Rua 1", "123456789", null))
                 .buildResponseDto();
     }
@@ -0,0 +1,184 @@
+package Santander.Coders.Banco.service;
+
+import Santander.Coders.Banco.model.Conta;
+import Santander.Coders.Banco.model.Dinheiro;
+import Santander.Coders.Banco.model.ModoLote;
+import Santander.Coders.Banco.model.StatusTransferencia;
+import Santander.Coders.Banco.model.TipoTransacao;
+import Santander.Coders.Banco.model.Transacao;
+import Santander.Coders.Banco.model.request.TransferenciaLoteItemDto;
+import Santander.Coders.Banco.model.request.TransferenciaLotePostDto;
+import Santander.Coders.Banco.model.response.TransferenciaLoteResponseDto;
+import Santander.Coders.Banco.repository.ContaRepository;
+import Santander.Coders.Banco.repository.TransacaoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaLoteServiceTest {
+
+    @InjectMocks
+    private TransferenciaLoteService transferenciaLoteService;
+    @Mock
+    private ContaRepository contaRepository;
+    @Mock
+    private TransacaoRepository transacaoRepository;
+    @Mock
+    private MovimentacaoExecutor movimentacaoExecutor;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private CacheRespostas cacheRespostas;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transferenciaLoteService, "tamanhoChunk", 2);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(movimentacaoExecutor).executar(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Best effort batch should apply valid items and reject the others")
+    void transferir_BestEffortShouldReportResultPerItem() {
+        Conta conta1 = createConta(1L, "100");
+        Conta conta2 = createConta(2L, "0");
+        Conta conta3 = createConta(3L, "10");
+        when(contaRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(conta1, conta2));
+        when(contaRepository.findAllByIdInForUpdate(List.of(3L))).thenReturn(List.of(conta3));
+        when(contaRepository.findAllByIdInForUpdate(List.of(2L, 3L))).thenReturn(List.of(conta2, conta3));
+
+        TransferenciaLoteResponseDto response = transferenciaLoteService.transferir(new TransferenciaLotePostDto(
+                ModoLote.MELHOR_ESFORCO,
+                List.of(
+                        new TransferenciaLoteItemDto(1L, 2L, Dinheiro.valueOf("60")),
+                        new TransferenciaLoteItemDto(3L, 1L, Dinheiro.valueOf("50")),
+                        new TransferenciaLoteItemDto(2L, 3L, Dinheiro.valueOf("60"))
+                )
+        ));
+
+        assertAll(
+                () -> assertEquals(2, response.efetivadas()),
+                () -> assertEquals(1, response.rejeitadas()),
+                () -> assertEquals(StatusTransferencia.EFETIVADA, response.itens().get(0).status()),
+                () -> assertEquals(StatusTransferencia.REJEITADA, response.itens().get(1).status()),
+                () -> assertEquals("Saldo insuficiente para realizar a transferência.", response.itens().get(1).mensagem()),
+                () -> assertEquals(StatusTransferencia.EFETIVADA, response.itens().get(2).status()),
+                () -> assertEquals(Dinheiro.valueOf("40"), conta1.getSaldo()),
+                () -> assertEquals(Dinheiro.valueOf("0"), conta2.getSaldo()),
+                () -> assertEquals(Dinheiro.valueOf("70"), conta3.getSaldo())
+        );
+        verify(movimentacaoExecutor, times(2)).executar(any(Runnable.class));
+        verify(transacaoRepository, times(2)).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Best effort batch should keep going when a chunk fails and mark only its items as not applied")
+    void transferir_BestEffortShouldContinueAfterFailedChunk() {
+        Conta conta1 = createConta(1L, "100");
+        Conta conta2 = createConta(2L, "0");
+        Conta conta3 = createConta(3L, "10");
+        Conta conta4 = createConta(4L, "0");
+        when(contaRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(conta1, conta2));
+        when(contaRepository.findAllByIdInForUpdate(List.of(3L, 4L))).thenReturn(List.of(conta3, conta4));
+        // O segundo chunk falha depois de aplicar os itens, ao gravar o extrato.
+        doNothing().doThrow(new ConcurrencyFailureException("Conflito de concorrência ao efetivar o lote."))
+                .doNothing().when(transacaoRepository).inserirEmLote(anyList());
+
+        TransferenciaLoteResponseDto response = transferenciaLoteService.transferir(new TransferenciaLotePostDto(
+                ModoLote.MELHOR_ESFORCO,
+                List.of(
+                        new TransferenciaLoteItemDto(1L, 2L, Dinheiro.valueOf("10")),
+                        new TransferenciaLoteItemDto(2L, 1L, Dinheiro.valueOf("5")),
+                        new TransferenciaLoteItemDto(1L, 2L, Dinheiro.valueOf("20")),
+                        new TransferenciaLoteItemDto(2L, 1L, Dinheiro.valueOf("1")),
+                        new TransferenciaLoteItemDto(3L, 4L, Dinheiro.valueOf("10"))
+                )
+        ));
+
+        assertAll(
+                () -> assertEquals(3, response.efetivadas()),
+                () -> assertEquals(0, response.rejeitadas()),
+                () -> assertEquals(StatusTransferencia.EFETIVADA, response.itens().get(0).status()),
+                () -> assertEquals(StatusTransferencia.EFETIVADA, response.itens().get(1).status()),
+                () -> assertEquals(StatusTransferencia.NAO_EFETIVADA, response.itens().get(2).status()),
+                () -> assertEquals("Conflito de concorrência ao efetivar o lote.", response.itens().get(2).mensagem()),
+                () -> assertEquals(StatusTransferencia.NAO_EFETIVADA, response.itens().get(3).status()),
+                () -> assertEquals(StatusTransferencia.EFETIVADA, response.itens().get(4).status()),
+                () -> assertEquals(Dinheiro.valueOf("0"), conta3.getSaldo()),
+                () -> assertEquals(Dinheiro.valueOf("10"), conta4.getSaldo())
+        );
+        verify(movimentacaoExecutor, times(3)).executar(any(Runnable.class));
+        verify(transacaoRepository, times(3)).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("All or nothing batch should not apply any item when one is rejected")
+    void transferir_AllOrNothingShouldRejectWholeBatch() {
+        Conta conta1 = createConta(1L, "100");
+        Conta conta2 = createConta(2L, "0");
+        when(contaRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(conta1, conta2));
+        when(contaRepository.findAllByIdInForUpdate(List.of(3L))).thenReturn(List.of());
+
+        TransferenciaLoteResponseDto response = transferenciaLoteService.transferir(new TransferenciaLotePostDto(
+                ModoLote.TUDO_OU_NADA,
+                List.of(
+                        new TransferenciaLoteItemDto(1L, 2L, Dinheiro.valueOf("60")),
+                        new TransferenciaLoteItemDto(1L, 3L, Dinheiro.valueOf("10"))
+                )
+        ));
+
+        assertAll(
+                () -> assertEquals(0, response.efetivadas()),
+                () -> assertEquals(1, response.rejeitadas()),
+                () -> assertEquals(StatusTransferencia.NAO_EFETIVADA, response.itens().get(0).status()),
+                () -> assertEquals(StatusTransferencia.REJEITADA, response.itens().get(1).status()),
+                () -> assertEquals("Conta de destino não encontrada.", response.itens().get(1).mensagem())
+        );
+        verify(transacaoRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Batch should record a sent and a received transaction per applied item")
+    void transferir_ShouldRecordTransactionsInBatch() {
+        Conta conta1 = createConta(1L, "100");
+        Conta conta2 = createConta(2L, "0");
+        when(contaRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(conta1, conta2));
+
+        transferenciaLoteService.transferir(new TransferenciaLotePostDto(
+                ModoLote.TUDO_OU_NADA,
+                List.of(new TransferenciaLoteItemDto(1L, 2L, Dinheiro.valueOf("60")))
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transacao>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transacaoRepository).inserirEmLote(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(TipoTransacao.TRANSFERENCIA_ENVIO, captor.getValue().get(0).getTipo());
+        assertEquals(TipoTransacao.TRANSFERENCIA_RECEBIMENTO, captor.getValue().get(1).getTipo());
+        verify(entityManager).flush();
+    }
+
+    private Conta createConta(Long id, String saldo) {
+        Conta conta = new Conta(id, 1234L, 1000L + id, null);
+        conta.setSaldo(Dinheiro.valueOf(saldo));
+        return conta;
+    }
+}